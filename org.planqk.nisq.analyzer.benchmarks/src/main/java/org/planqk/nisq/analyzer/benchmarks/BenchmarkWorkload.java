@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologFactUpdater;
+import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologKnowledgeBaseHandler;
+import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologQueryEngine;
+import org.planqk.nisq.analyzer.core.model.DataType;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.Parameter;
+import org.planqk.nisq.analyzer.core.model.Provider;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.planqk.nisq.analyzer.core.model.Sdk;
+
+/**
+ * Synthetic workload for the benchmarks, consisting of the given number of implementations of one algorithm and the given number of QPUs of
+ * one provider, as well as the Prolog knowledge base components to evaluate them.
+ * <p>
+ * Each implementation defines a selection rule of its own with a varying threshold for the input parameter 'N', so that only a part of the
+ * implementations is executable for the {@link #getInputParameters() default input}. Every tenth QPU is a simulator, the other QPUs provide
+ * a varying number of qubits.
+ */
+@Getter
+public class BenchmarkWorkload {
+
+    // value of the input parameter 'N' used for the selection
+    final private static int INPUT_VALUE = 15;
+
+    final private UUID algorithmId = UUID.randomUUID();
+
+    final private Provider provider = new Provider();
+
+    final private List<Implementation> implementations = new ArrayList<>();
+
+    final private List<Qpu> qpus = new ArrayList<>();
+
+    final private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    final private StubSdkConnector connector;
+
+    final private PrologKnowledgeBaseHandler knowledgeBaseHandler;
+
+    final private PrologQueryEngine queryEngine;
+
+    final private PrologFactUpdater factUpdater;
+
+    /**
+     * Create the workload
+     *
+     * @param implementationCount the number of implementations of the algorithm
+     * @param qpuCount            the number of QPUs of the provider
+     * @param knowledgeBaseMode   the mode of the Prolog knowledge base, i.e., 'memory' or 'file'
+     * @param connectorLatency    the simulated latency of the SDK connector in milliseconds
+     */
+    public BenchmarkWorkload(int implementationCount, int qpuCount, String knowledgeBaseMode, long connectorLatency) {
+        this.connector = new StubSdkConnector(connectorLatency);
+        this.knowledgeBaseHandler = new PrologKnowledgeBaseHandler(knowledgeBaseMode, 4);
+        this.queryEngine = new PrologQueryEngine(knowledgeBaseHandler, 1000, meterRegistry);
+        this.factUpdater = new PrologFactUpdater(knowledgeBaseHandler, queryEngine);
+
+        provider.setId(UUID.randomUUID());
+        provider.setName(Constants.IBMQ);
+
+        Sdk sdk = new Sdk();
+        sdk.setId(UUID.randomUUID());
+        sdk.setName(Constants.QISKIT);
+
+        for (int i = 0; i < implementationCount; i++) {
+            Implementation implementation = new Implementation();
+            implementation.setId(UUID.randomUUID());
+            implementation.setName("bench-impl-" + i);
+            implementation.setImplementedAlgorithm(algorithmId);
+            implementation.setSdk(sdk);
+            implementation.setLanguage(Constants.QISKIT);
+            implementation.setSelectionRule(createSelectionRule(i, i % (2 * INPUT_VALUE)));
+            implementation.setInputParameters(
+                    new ArrayList<>(Collections.singletonList(new Parameter("N", DataType.Integer, null, "Input of the benchmark"))));
+            implementations.add(implementation);
+        }
+
+        for (int i = 0; i < qpuCount; i++) {
+            Qpu qpu = new Qpu();
+            qpu.setId(UUID.randomUUID());
+            qpu.setName("bench-qpu-" + i);
+            qpu.setProvider(Constants.IBMQ);
+            qpu.setQubitCount(5 + i % 60);
+            qpu.setT1(50000f);
+            qpu.setMaxGateTime(1000f);
+            qpu.setSimulator(i % 10 == 0);
+            qpus.add(qpu);
+        }
+    }
+
+    /**
+     * Create the selection rule for the implementation with the given index
+     *
+     * @param index     the index of the implementation
+     * @param threshold the minimum value of the input parameter 'N' for which the implementation is executable
+     * @return the selection rule
+     */
+    public static String createSelectionRule(int index, int threshold) {
+        return "executable(N, bench_impl_" + index + ") :- N > " + threshold + ".";
+    }
+
+    /**
+     * Add the facts of the connector, all implementations, and all QPUs to the knowledge base
+     */
+    public void loadKnowledgeBase() {
+        factUpdater.handleSDKConnectorInsertion(connector);
+        knowledgeBaseHandler.activatePrologFile(connector.getClass().getSimpleName());
+        for (Implementation implementation : implementations) {
+            factUpdater.handleImplementationInsertion(implementation);
+            knowledgeBaseHandler.activatePrologFile(implementation.getId().toString());
+        }
+        for (Qpu qpu : qpus) {
+            factUpdater.handleQpuInsertion(qpu);
+            knowledgeBaseHandler.activatePrologFile(qpu.getId().toString());
+        }
+    }
+
+    /**
+     * @return the input parameters for the selection
+     */
+    public Map<String, String> getInputParameters() {
+        return Collections.singletonMap("N", String.valueOf(INPUT_VALUE));
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologFactUpdater;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the generation and loading of the Prolog facts for changed implementations and QPUs. Each benchmark operation changes all
+ * implementations or QPUs of the workload, so that the facts are regenerated and replaced in the knowledge base, as done after the QPUs of
+ * a provider were recalibrated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrologFactUpdaterBenchmark {
+
+    @Param({"10", "100"})
+    private int implementations;
+
+    @Param({"10", "100"})
+    private int qpus;
+
+    @Param({"memory", "file"})
+    private String knowledgeBaseMode;
+
+    private BenchmarkWorkload workload;
+
+    private PrologFactUpdater factUpdater;
+
+    private int revision = 0;
+
+    @Setup
+    public void setUp() {
+        workload = new BenchmarkWorkload(implementations, qpus, knowledgeBaseMode, 0);
+        workload.loadKnowledgeBase();
+        factUpdater = workload.getFactUpdater();
+    }
+
+    @Benchmark
+    public void updateImplementationFacts() {
+        revision++;
+        int index = 0;
+        for (Implementation implementation : workload.getImplementations()) {
+            implementation.setSelectionRule(BenchmarkWorkload.createSelectionRule(index++, revision % 30));
+            factUpdater.handleImplementationInsertion(implementation);
+            workload.getKnowledgeBaseHandler().activatePrologFile(implementation.getId().toString());
+        }
+    }
+
+    @Benchmark
+    public void updateQpuFacts() {
+        revision++;
+        for (Qpu qpu : workload.getQpus()) {
+            qpu.setT1(50000f + revision);
+            factUpdater.handleQpuInsertion(qpu);
+            workload.getKnowledgeBaseHandler().activatePrologFile(qpu.getId().toString());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologQueryEngine;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.planqk.nisq.analyzer.core.model.QpuSuitabilityCheck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Prolog queries performed during the selection. Each benchmark operation performs the query for all implementations (and
+ * QPUs) of the workload, as done for one selection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrologQueryEngineBenchmark {
+
+    @Param({"10", "100"})
+    private int implementations;
+
+    @Param({"10", "100"})
+    private int qpus;
+
+    @Param({"memory", "file"})
+    private String knowledgeBaseMode;
+
+    private BenchmarkWorkload workload;
+
+    private PrologQueryEngine queryEngine;
+
+    @Setup
+    public void setUp() {
+        workload = new BenchmarkWorkload(implementations, qpus, knowledgeBaseMode, 0);
+        workload.loadKnowledgeBase();
+        queryEngine = workload.getQueryEngine();
+    }
+
+    @Benchmark
+    public int checkExecutabilityCached() {
+        return checkExecutability();
+    }
+
+    @Benchmark
+    public int checkExecutabilityUncached() {
+        queryEngine.invalidateExecutability(workload.getImplementations().get(0).getId());
+        return checkExecutability();
+    }
+
+    private int checkExecutability() {
+        int executable = 0;
+        for (Implementation implementation : workload.getImplementations()) {
+            if (queryEngine.checkExecutability(implementation.getId(), implementation.getSelectionRule(), workload.getInputParameters())) {
+                executable++;
+            }
+        }
+        return executable;
+    }
+
+    @Benchmark
+    public int getSuitableCandidates() {
+        int candidates = 0;
+        for (Implementation implementation : workload.getImplementations()) {
+            candidates += queryEngine.getSuitableCandidates(implementation.getId()).size();
+        }
+        return candidates;
+    }
+
+    @Benchmark
+    public int isQpuSuitable() {
+        int suitable = 0;
+        for (Implementation implementation : workload.getImplementations()) {
+            for (Qpu qpu : workload.getQpus()) {
+                if (queryEngine.isQpuSuitable(implementation.getId(), qpu.getId(), 5, 20)) {
+                    suitable++;
+                }
+            }
+        }
+        return suitable;
+    }
+
+    @Benchmark
+    public int getSuitableQpus() {
+        List<QpuSuitabilityCheck> checks = new ArrayList<>();
+        for (Implementation implementation : workload.getImplementations()) {
+            for (Qpu qpu : workload.getQpus()) {
+                checks.add(new QpuSuitabilityCheck(implementation.getId(), qpu.getId(), 5, 20));
+            }
+        }
+        return queryEngine.getSuitableQpus(checks).size();
+    }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.jpl7.Term;
+import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologUtility;
+import org.planqk.nisq.analyzer.core.knowledge.prolog.SelectionRuleTemplate;
+import org.planqk.nisq.analyzer.core.model.Parameter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the parsing of selection rules and of the creation of goals from compiled selection rules, which is performed for each
+ * implementation on every selection and parameter request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrologUtilityBenchmark {
+
+    // number of variables in the signature of the selection rule
+    @Param({"1", "4", "16"})
+    private int variables;
+
+    private String rule;
+
+    private SelectionRuleTemplate template;
+
+    private Map<String, String> params;
+
+    @Setup
+    public void setUp() {
+        StringBuilder signature = new StringBuilder("executable(");
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < variables; i++) {
+            signature.append("Var").append(i).append(", ");
+            body.append(i > 0 ? ", " : "").append("Var").append(i).append(" > ").append(i);
+        }
+        rule = signature.append("bench_impl) :- ").append(body).append(".").toString();
+        template = SelectionRuleTemplate.compile(rule);
+        params = new HashMap<>();
+        for (int i = 0; i < variables; i++) {
+            params.put("Var" + i, i % 2 == 0 ? String.valueOf(i) : "'value" + i + "'");
+        }
+    }
+
+    @Benchmark
+    public Set<Parameter> getParametersForRule() {
+        return PrologUtility.getParametersForRule(rule, false);
+    }
+
+    @Benchmark
+    public List<String> getVariablesForPrologRule() {
+        return PrologUtility.getVariablesForPrologRule(rule);
+    }
+
+    @Benchmark
+    public String getSignatureOfRule() {
+        return PrologUtility.getSignatureOfRule(rule);
+    }
+
+    @Benchmark
+    public int getNumberOfParameters() {
+        return PrologUtility.getNumberOfParameters(rule);
+    }
+
+    @Benchmark
+    public SelectionRuleTemplate compileSelectionRule() {
+        return SelectionRuleTemplate.compile(rule);
+    }
+
+    @Benchmark
+    public Term createGoal() {
+        return template.createGoal(params);
+    }
+}
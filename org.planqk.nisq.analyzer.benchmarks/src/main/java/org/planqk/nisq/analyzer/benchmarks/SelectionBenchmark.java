@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.benchmarks;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.planqk.nisq.analyzer.core.connector.SdkConnectorMetrics;
+import org.planqk.nisq.analyzer.core.connector.TranspilationCache;
+import org.planqk.nisq.analyzer.core.control.CircuitAnalysisExecutor;
+import org.planqk.nisq.analyzer.core.control.CircuitBlobStore;
+import org.planqk.nisq.analyzer.core.control.JobEventPublisher;
+import org.planqk.nisq.analyzer.core.control.JobResultWriterFactory;
+import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
+import org.planqk.nisq.analyzer.core.model.AnalysisJob;
+import org.planqk.nisq.analyzer.core.qprov.QProvService;
+import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
+import org.planqk.nisq.analyzer.core.repository.AnalysisResultRepository;
+import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
+import org.planqk.nisq.analyzer.core.repository.CompilerAnalysisResultRepository;
+import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.planqk.nisq.analyzer.core.repository.ImplementationRepository;
+import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
+import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
+import org.planqk.nisq.analyzer.core.scheduler.JobScheduler;
+import org.planqk.nisq.analyzer.core.translator.TranslatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end benchmark of the implementation and QPU selection. The repositories and QProv are replaced by mocks returning the workload and
+ * the circuit analysis is performed by a stub connector with a configurable latency, so that the benchmark measures the overhead of the
+ * selection itself, i.e., the Prolog queries, the scheduling of the circuit analyses, and the handling of the results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectionBenchmark {
+
+    @Param({"10", "100"})
+    private int implementations;
+
+    @Param({"10", "100"})
+    private int qpus;
+
+    @Param({"memory"})
+    private String knowledgeBaseMode;
+
+    // latency of the stub connector for each circuit analysis in milliseconds
+    @Param({"0", "5"})
+    private long connectorLatency;
+
+    private BenchmarkWorkload workload;
+
+    private CircuitAnalysisExecutor circuitAnalysisExecutor;
+
+    private NisqAnalyzerControlService controlService;
+
+    @Setup
+    public void setUp() {
+        workload = new BenchmarkWorkload(implementations, qpus, knowledgeBaseMode, connectorLatency);
+
+        ImplementationRepository implementationRepository = mock(ImplementationRepository.class);
+        when(implementationRepository.findByImplementedAlgorithm(workload.getAlgorithmId())).thenReturn(workload.getImplementations());
+        when(implementationRepository.findAll()).thenReturn(workload.getImplementations());
+
+        AnalysisResultRepository analysisResultRepository = mock(AnalysisResultRepository.class);
+        when(analysisResultRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AnalysisJobRepository analysisJobRepository = mock(AnalysisJobRepository.class);
+        when(analysisJobRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        QProvService qProvService = mock(QProvService.class);
+        when(qProvService.getProviders()).thenReturn(Collections.singletonList(workload.getProvider()));
+        when(qProvService.getQPUs(workload.getProvider())).thenReturn(workload.getQpus());
+
+        // disable the transpilation cache to perform a circuit analysis for each candidate
+        SdkConnectorMetrics sdkConnectorMetrics = new SdkConnectorMetrics(workload.getMeterRegistry());
+        TranspilationCache transpilationCache = new TranspilationCache(null, 0, 0, false, workload.getMeterRegistry(), sdkConnectorMetrics);
+        circuitAnalysisExecutor = new CircuitAnalysisExecutor(new StandardEnvironment(), 4);
+        JobEventPublisher jobEventPublisher = new JobEventPublisher(1800);
+
+        controlService = new NisqAnalyzerControlService(
+                Collections.singletonList(workload.getConnector()),
+                implementationRepository,
+                analysisResultRepository,
+                mock(CompilerAnalysisResultRepository.class),
+                mock(ExecutionResultRepository.class),
+                workload.getQueryEngine(),
+                workload.getKnowledgeBaseHandler(),
+                workload.getFactUpdater(),
+                qProvService,
+                mock(TranslatorService.class),
+                mock(CompilationJobRepository.class),
+                analysisJobRepository,
+                mock(QpuSelectionJobRepository.class),
+                mock(QpuSelectionResultRepository.class),
+                circuitAnalysisExecutor,
+                transpilationCache,
+                mock(JobScheduler.class),
+                jobEventPublisher,
+                new JobResultWriterFactory(jobEventPublisher, 20, 2000),
+                mock(CircuitBlobStore.class),
+                sdkConnectorMetrics,
+                workload.getMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        circuitAnalysisExecutor.shutdown();
+    }
+
+    @Benchmark
+    public int performSelection() {
+        AnalysisJob job = new AnalysisJob();
+        job.setId(UUID.randomUUID());
+        controlService.performSelection(job, workload.getAlgorithmId(), workload.getInputParameters());
+        return job.getJobResults().size();
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
+import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
+import org.planqk.nisq.analyzer.core.model.ExecutionResult;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.Parameter;
+import org.planqk.nisq.analyzer.core.model.ParameterValue;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+
+/**
+ * SDK connector supporting Qiskit implementations for IBMQ QPUs, which returns fixed circuit properties after a configurable latency instead
+ * of invoking an SDK service.
+ */
+public class StubSdkConnector implements SdkConnector {
+
+    final private static String CIRCUIT = "OPENQASM 2.0;";
+
+    // simulated latency of the circuit analysis in milliseconds
+    final private long latency;
+
+    public StubSdkConnector(long latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public void executeQuantumAlgorithmImplementation(Implementation implementation, Qpu qpu, Map<String, ParameterValue> parameters,
+                                                      ExecutionResult executionResult, ExecutionResultRepository resultService,
+                                                      String refreshToken) {
+        throw new UnsupportedOperationException("Executions are not supported by the stub connector");
+    }
+
+    @Override
+    public void executeTranspiledQuantumCircuit(String transpiledCircuit, String transpiledLanguage, String providerName, String qpuName,
+                                                Map<String, ParameterValue> parameters, ExecutionResult executionResult,
+                                                ExecutionResultRepository resultRepository) {
+        throw new UnsupportedOperationException("Executions are not supported by the stub connector");
+    }
+
+    @Override
+    public CircuitInformation getCircuitProperties(Implementation implementation, String providerName, String qpuName,
+                                                   Map<String, ParameterValue> parameters, String refreshToken) {
+        return analyze();
+    }
+
+    @Override
+    public CircuitInformation getCircuitProperties(CircuitPayload circuit, String providerName, String qpuName,
+                                                   Map<String, ParameterValue> parameters) {
+        return analyze();
+    }
+
+    private CircuitInformation analyze() {
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new CircuitInformation(20, 5, CIRCUIT, Constants.OPENQASM, null);
+    }
+
+    @Override
+    public List<String> supportedSdks() {
+        return Collections.singletonList(Constants.QISKIT);
+    }
+
+    @Override
+    public List<String> getLanguagesForSdk(String sdkName) {
+        return Collections.singletonList(Constants.OPENQASM);
+    }
+
+    @Override
+    public List<String> supportedProviders() {
+        return Collections.singletonList(Constants.IBMQ);
+    }
+
+    @Override
+    public Set<Parameter> getSdkSpecificParameters() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+}
@@ -19,6 +19,9 @@
 
 package org.planqk.nisq.analyzer.core;
 
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
 /**
  * Constants for the Quality API classes.
  */
@@ -37,6 +40,13 @@ public class Constants {
     public static final String QPU_SELECTION_RESULTS = "qpu-selection-results";
     public static final String EXECUTION_RESULTS = "execution-results";
     public static final String JOBS = "jobs";
+    public static final String EVENTS = "events";
+    public static final String INITIAL_CIRCUIT = "initial-circuit";
+    public static final String TRANSPILED_CIRCUIT = "transpiled-circuit";
+
+    // bounds of the time range filters if no start or end is given
+    public static final OffsetDateTime TIME_RANGE_START = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    public static final OffsetDateTime TIME_RANGE_END = OffsetDateTime.of(9999, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC);
 
     // link names
     public static final String USED_SDK = "used-sdk";
@@ -64,4 +74,7 @@ public class Constants {
 
     // parameter
     public static final String TOKEN_PARAMETER = "token";
+
+    // host of the PlanQK platform, files hosted on the platform require a bearer token
+    public static final String PLANQK_PLATFORM_HOST = "platform.planqk.de";
 }
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.model.ExecutionResult;
+import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
+import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Service tracking the executions which are running on the services of the SDK connectors. Instead of blocking one thread per execution, all
+ * pending executions are polled by a fixed number of threads. The poll interval of an execution starts at the configured initial interval and
+ * is increased after each poll without result up to the maximum interval of the corresponding connector. Each execution is polled separately
+ * with the timeouts of the 'poller' backend, so that a slow service does not delay the polls of other executions, and executions that are not
+ * completed within the configured maximum age are marked as failed. Furthermore, the results can be pushed to the NISQ Analyzer to complete an
+ * execution without further polling.
+ */
+@Service
+public class ExecutionResultPoller {
+
+    final private static Logger LOG = LoggerFactory.getLogger(ExecutionResultPoller.class);
+
+    // name of the backend to retrieve the configured HTTP timeouts of a single poll
+    final private static String BACKEND_NAME = "poller";
+
+    final private Map<UUID, PendingExecution> pendingExecutions = new ConcurrentHashMap<>();
+
+    final private ScheduledExecutorService executor;
+
+    final private HttpClientService httpClientService;
+
+    // poll interval in milliseconds for the first poll of an execution
+    final private long initialInterval;
+
+    // factor by which the poll interval is increased if an execution is not yet completed
+    final private double backoffFactor;
+
+    // time in milliseconds after which an execution that is not yet completed is marked as failed
+    final private long maxAge;
+
+    // shared secret required to push results, empty if pushing results is disabled
+    final private String callbackSecret;
+
+    public ExecutionResultPoller(
+            @Value("${org.planqk.nisq.analyzer.execution.poller.threads:2}") int threads,
+            @Value("${org.planqk.nisq.analyzer.execution.poller.tick:500}") long tick,
+            @Value("${org.planqk.nisq.analyzer.execution.poller.initialInterval:1000}") long initialInterval,
+            @Value("${org.planqk.nisq.analyzer.execution.poller.backoffFactor:2.0}") double backoffFactor,
+            @Value("${org.planqk.nisq.analyzer.execution.poller.maxAge:86400}") long maxAge,
+            @Value("${org.planqk.nisq.analyzer.execution.callback.secret:}") String callbackSecret,
+            MeterRegistry meterRegistry,
+            HttpClientService httpClientService
+    ) {
+        this.httpClientService = httpClientService;
+        this.initialInterval = initialInterval;
+        this.backoffFactor = Math.max(1.0, backoffFactor);
+        this.maxAge = TimeUnit.SECONDS.toMillis(maxAge);
+        this.callbackSecret = callbackSecret.trim();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "execution-poller-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::pollDueExecutions, tick, tick, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("nisq.executions.pending", pendingExecutions, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Track the given execution until its result is available at the given location or it is pushed to the NISQ Analyzer
+     *
+     * @param connectorName    the name of the connector that started the execution
+     * @param serviceName      the name of the service executing the circuit, used for the status messages
+     * @param resultLocation   the location to poll the result from
+     * @param maxInterval      the maximum poll interval in milliseconds
+     * @param executionResult  the object to store the result
+     * @param resultRepository the object to update the current state of the execution
+     */
+    public void track(String connectorName, String serviceName, URI resultLocation, long maxInterval, ExecutionResult executionResult,
+                      ExecutionResultRepository resultRepository) {
+        LOG.debug("Tracking execution result with id {} at location {}.", executionResult.getId(), resultLocation);
+        PendingExecution pendingExecution =
+                new PendingExecution(connectorName, serviceName, resultLocation, Math.max(initialInterval, maxInterval), executionResult,
+                        resultRepository);
+        pendingExecution.interval = Math.min(initialInterval, pendingExecution.maxInterval);
+        pendingExecution.nextPoll = System.currentTimeMillis() + pendingExecution.interval;
+        pendingExecutions.put(executionResult.getId(), pendingExecution);
+    }
+
+    /**
+     * Complete the tracked execution with the given id using the pushed result
+     *
+     * @param executionResultId the id of the execution result to complete
+     * @param result            the result of the execution
+     * @return <code>true</code> if the execution was tracked and is now completed, <code>false</code> otherwise
+     */
+    public boolean complete(UUID executionResultId, ExecutionRequestResult result) {
+        PendingExecution pendingExecution = pendingExecutions.get(executionResultId);
+        if (Objects.isNull(pendingExecution) || !result.isComplete()) {
+            return false;
+        }
+
+        // wait for a running poll of the execution to avoid concurrent updates, the execution is only removed after its result is stored
+        synchronized (pendingExecution) {
+            if (!pendingExecutions.containsKey(executionResultId)) {
+                return false;
+            }
+            finish(pendingExecution, result);
+        }
+        return true;
+    }
+
+    /**
+     * Check if the given token authorizes to push results of executions to the NISQ Analyzer
+     *
+     * @param token the token sent with the pushed result
+     * @return <code>true</code> if a callback secret is configured and the token matches it, <code>false</code> otherwise
+     */
+    public boolean isCallbackAuthorized(String token) {
+        if (callbackSecret.isEmpty() || Objects.isNull(token)) {
+            return false;
+        }
+        return MessageDigest.isEqual(callbackSecret.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        if (!pendingExecutions.isEmpty()) {
+            LOG.warn("Stopped polling of {} pending executions.", pendingExecutions.size());
+        }
+    }
+
+    /**
+     * Poll all executions with an elapsed poll interval, each execution in a separate task
+     */
+    private void pollDueExecutions() {
+        long now = System.currentTimeMillis();
+        List<PendingExecution> dueExecutions = pendingExecutions.values().stream()
+                .filter(pendingExecution -> pendingExecution.nextPoll <= now)
+                .filter(pendingExecution -> pendingExecution.polling.compareAndSet(false, true))
+                .collect(Collectors.toList());
+
+        if (!dueExecutions.isEmpty()) {
+            LOG.debug("Polling {} pending executions.", dueExecutions.size());
+        }
+        dueExecutions.forEach(pendingExecution -> executor.execute(() -> poll(pendingExecution, now)));
+    }
+
+    private void poll(PendingExecution pendingExecution, long now) {
+        synchronized (pendingExecution) {
+            try {
+                if (!pendingExecutions.containsKey(pendingExecution.executionResult.getId())) {
+                    // already completed by a pushed result
+                    return;
+                }
+
+                if (now - pendingExecution.trackedSince >= maxAge) {
+                    LOG.error("Execution with id {} of connector {} did not complete within {} seconds.", pendingExecution.executionResult.getId(),
+                            pendingExecution.connectorName, TimeUnit.MILLISECONDS.toSeconds(maxAge));
+                    fail(pendingExecution, String.format("Execution on %s did not complete within %d seconds.", pendingExecution.serviceName,
+                            TimeUnit.MILLISECONDS.toSeconds(maxAge)));
+                    return;
+                }
+
+                ExecutionRequestResult result;
+                try {
+                    result = httpClientService.getRestTemplate(BACKEND_NAME)
+                            .getForObject(pendingExecution.resultLocation, ExecutionRequestResult.class);
+                } catch (RestClientException e) {
+                    LOG.error("Polling result from {} failed.", pendingExecution.serviceName);
+                    fail(pendingExecution, String.format("Polling result from %s failed.", pendingExecution.serviceName));
+                    return;
+                }
+
+                // Check if execution is completed
+                if (Objects.nonNull(result) && result.isComplete()) {
+                    finish(pendingExecution, result);
+                } else {
+                    scheduleNextPoll(pendingExecution);
+                }
+            } catch (RuntimeException e) {
+                // the execution is still tracked, retry with the next poll
+                LOG.error("Unable to update execution result with id {}: {}", pendingExecution.executionResult.getId(), e.getMessage());
+                scheduleNextPoll(pendingExecution);
+            } finally {
+                pendingExecution.polling.set(false);
+            }
+        }
+    }
+
+    private void scheduleNextPoll(PendingExecution pendingExecution) {
+        pendingExecution.interval = Math.min((long) (pendingExecution.interval * backoffFactor), pendingExecution.maxInterval);
+        pendingExecution.nextPoll = System.currentTimeMillis() + pendingExecution.interval;
+    }
+
+    /**
+     * Store the result of the completed execution and stop tracking it. If the result can not be stored, the execution is still tracked.
+     */
+    private void finish(PendingExecution pendingExecution, ExecutionRequestResult result) {
+        if (Objects.isNull(result.getResult())) {
+            LOG.error("Execution on {} completed without result.", pendingExecution.serviceName);
+            fail(pendingExecution, String.format("Execution on %s completed without result.", pendingExecution.serviceName));
+            return;
+        }
+
+        ExecutionResult executionResult = pendingExecution.executionResult;
+        executionResult.setStatus(ExecutionResultStatus.FINISHED);
+        executionResult.setStatusCode("Execution successfully completed.");
+        executionResult.setResult(result.getResult().toString());
+        pendingExecution.resultRepository.save(executionResult);
+        pendingExecutions.remove(executionResult.getId());
+        LOG.debug("Execution with id {} completed.", executionResult.getId());
+    }
+
+    /**
+     * Store the failure of the execution and stop tracking it. If the failure can not be stored, the execution is still tracked.
+     */
+    private void fail(PendingExecution pendingExecution, String statusCode) {
+        ExecutionResult executionResult = pendingExecution.executionResult;
+        executionResult.setStatus(ExecutionResultStatus.FAILED);
+        executionResult.setStatusCode(statusCode);
+        pendingExecution.resultRepository.save(executionResult);
+        pendingExecutions.remove(executionResult.getId());
+    }
+
+    /**
+     * Execution which is currently running on the service of a connector
+     */
+    private static class PendingExecution {
+
+        final private String connectorName;
+
+        final private String serviceName;
+
+        final private URI resultLocation;
+
+        final private long maxInterval;
+
+        final private ExecutionResult executionResult;
+
+        final private ExecutionResultRepository resultRepository;
+
+        final private AtomicBoolean polling = new AtomicBoolean(false);
+
+        // time in milliseconds at which the tracking of the execution started
+        final private long trackedSince = System.currentTimeMillis();
+
+        private volatile long interval;
+
+        private volatile long nextPoll;
+
+        private PendingExecution(String connectorName, String serviceName, URI resultLocation, long maxInterval, ExecutionResult executionResult,
+                                 ExecutionResultRepository resultRepository) {
+            this.connectorName = connectorName;
+            this.serviceName = serviceName;
+            this.resultLocation = resultLocation;
+            this.maxInterval = maxInterval;
+            this.executionResult = executionResult;
+            this.resultRepository = resultRepository;
+        }
+    }
+}
@@ -19,11 +19,11 @@
 
 package org.planqk.nisq.analyzer.core.connector;
 
-import java.io.File;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.Parameter;
@@ -79,14 +79,13 @@ public interface SdkConnector {
     /**
      * Analyse the given circuit after compiling it for the given QPU and with the given input parameters.
      *
-     * @param circuit      the file containing the circuit
-     * @param language     the language of the circuit
+     * @param circuit      the circuit and its language
      * @param providerName the name of the provider of the QPU
      * @param qpuName      the name of the QPU to analyze the implementation for
      * @param parameters   he input parameters for the quantum algorithm implementation
      * @return the object containing all analysed properties of the quantum circuit
      */
-    CircuitInformation getCircuitProperties(File circuit, String language, String providerName, String qpuName,
+    CircuitInformation getCircuitProperties(CircuitPayload circuit, String providerName, String qpuName,
                                             Map<String, ParameterValue> parameters);
 
     /**
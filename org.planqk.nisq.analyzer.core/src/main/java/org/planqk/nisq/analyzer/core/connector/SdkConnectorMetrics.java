@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.planqk.nisq.analyzer.core.model.ExecutionResult;
+import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Records the duration and outcome of the requests against the services of the SDK connectors. The requests are tagged by connector, provider,
+ * and QPU to compare the latency of the different backends.
+ */
+@Service
+public class SdkConnectorMetrics {
+
+    final private static String REQUEST_METRIC = "nisq.connector.requests";
+
+    final private MeterRegistry meterRegistry;
+
+    public SdkConnectorMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Perform the given transpilation and record its duration. The outcome is 'success', 'rejected' if the connector was unable to transpile
+     * the circuit for the QPU, or 'error' if the request failed.
+     *
+     * @param connector     the connector performing the transpilation
+     * @param providerName  the name of the provider of the QPU
+     * @param qpuName       the name of the QPU the circuit is transpiled for
+     * @param transpilation the request to the connector
+     * @return the result of the transpilation
+     */
+    public CircuitInformation recordTranspilation(SdkConnector connector, String providerName, String qpuName,
+                                                  Supplier<CircuitInformation> transpilation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CircuitInformation circuitInformation = null;
+        try {
+            circuitInformation = transpilation.get();
+            return circuitInformation;
+        } finally {
+            String outcome = "error";
+            if (Objects.nonNull(circuitInformation)) {
+                outcome = circuitInformation.wasTranspilationSuccessfull() ? "success" : "rejected";
+            }
+            sample.stop(getTimer(connector, "transpile", providerName, qpuName, outcome));
+        }
+    }
+
+    /**
+     * Perform the given execution request and record its duration until the execution is started by the connector. The outcome is 'error' if
+     * the request failed or the execution result is marked as failed, and 'success' otherwise.
+     *
+     * @param connector       the connector performing the execution
+     * @param providerName    the name of the provider of the QPU
+     * @param qpuName         the name of the QPU to execute the circuit on
+     * @param executionResult the execution result which is updated by the connector
+     * @param execution       the request to the connector
+     */
+    public void recordExecution(SdkConnector connector, String providerName, String qpuName, ExecutionResult executionResult,
+                                Runnable execution) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean failed = true;
+        try {
+            execution.run();
+            failed = executionResult.getStatus() == ExecutionResultStatus.FAILED;
+        } finally {
+            sample.stop(getTimer(connector, "execute", providerName, qpuName, failed ? "error" : "success"));
+        }
+    }
+
+    private Timer getTimer(SdkConnector connector, String operation, String providerName, String qpuName, String outcome) {
+        return Timer.builder(REQUEST_METRIC)
+                .description("Duration of the requests to the services of the SDK connectors")
+                .tag("connector", connector.getName())
+                .tag("operation", operation)
+                .tag("provider", Objects.toString(providerName, "unknown").toLowerCase())
+                .tag("qpu", Objects.toString(qpuName, "unknown"))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
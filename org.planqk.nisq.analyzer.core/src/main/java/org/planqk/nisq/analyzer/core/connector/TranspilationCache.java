@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.ParameterValue;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.planqk.nisq.analyzer.core.model.TranspilationCacheEntry;
+import org.planqk.nisq.analyzer.core.repository.TranspilationCacheEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache for the properties of transpiled circuits retrieved from the SDK connectors.
+ * <p>
+ * The transpilation of a circuit is deterministic for a given circuit, compiler, and QPU calibration. Thus, the results are cached using a key
+ * which is composed of the hash of the circuit content (or the implementation location and its parameters), the connector and compiler, the
+ * provider and QPU, a fingerprint of the calibration data of the QPU from QProv, and the hash of the provider access token, so that results
+ * are only shared between requests using the same provider account. The results are stored in a size-bounded in-memory
+ * cache and optionally persisted in the database to share them between restarts and instances. The results of an implementation are removed
+ * when the implementation is updated, and implementations hosted on the PlanQK platform are not cached, as they require a valid token.
+ */
+@Service
+public class TranspilationCache {
+
+    final private static Logger LOG = LoggerFactory.getLogger(TranspilationCache.class);
+
+    final private TranspilationCacheEntryRepository transpilationCacheEntryRepository;
+
+    // LRU cache for the transpilation results
+    final private Map<String, TranspilationCacheEntry> memoryCache;
+
+    // time in milliseconds after which cached transpilation results are no longer used
+    final private long timeToLive;
+
+    final private boolean persistent;
+
+    final private SdkConnectorMetrics sdkConnectorMetrics;
+
+    final private Counter memoryHits;
+
+    final private Counter persistentHits;
+
+    final private Counter misses;
+
+    public TranspilationCache(TranspilationCacheEntryRepository transpilationCacheEntryRepository,
+                              @Value("${org.planqk.nisq.analyzer.transpilation.cache.size:1000}") int cacheSize,
+                              @Value("${org.planqk.nisq.analyzer.transpilation.cache.ttl:86400}") long timeToLive,
+                              @Value("${org.planqk.nisq.analyzer.transpilation.cache.persistent:false}") boolean persistent,
+                              MeterRegistry meterRegistry,
+                              SdkConnectorMetrics sdkConnectorMetrics) {
+        this.transpilationCacheEntryRepository = transpilationCacheEntryRepository;
+        this.sdkConnectorMetrics = sdkConnectorMetrics;
+        this.timeToLive = TimeUnit.SECONDS.toMillis(timeToLive);
+        this.persistent = persistent;
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<String, TranspilationCacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TranspilationCacheEntry> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.memoryHits = Counter.builder("nisq.transpilation.cache.requests").tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.persistentHits =
+                Counter.builder("nisq.transpilation.cache.requests").tag("result", "hit").tag("tier", "persistent").register(meterRegistry);
+        this.misses = Counter.builder("nisq.transpilation.cache.requests").tag("result", "miss").tag("tier", "none").register(meterRegistry);
+    }
+
+    /**
+     * Analyse the given implementation with the given connector, or return the cached result of an earlier analysis
+     *
+     * @param connector      the connector to perform the analysis
+     * @param implementation the implementation to get the circuit properties for
+     * @param qpu            the QPU to analyze the implementation for
+     * @param parameters     the input parameters for the quantum algorithm implementation
+     * @param refreshToken   a valid refresh token from the PlanQK platform, if the implementation is hosted on the platform
+     * @return the object containing all analysed properties of the quantum circuit
+     */
+    public CircuitInformation getCircuitProperties(SdkConnector connector, Implementation implementation, Qpu qpu,
+                                                   Map<String, ParameterValue> parameters, String refreshToken) {
+        Supplier<CircuitInformation> transpilation = () -> sdkConnectorMetrics.recordTranspilation(connector, qpu.getProvider(), qpu.getName(),
+                () -> connector.getCircuitProperties(implementation, qpu.getProvider(), qpu.getName(), parameters, refreshToken));
+
+        // implementations hosted on the PlanQK platform require a valid token, which is not checked if a cached result is returned
+        if (Objects.nonNull(implementation.getFileLocation())
+                && Constants.PLANQK_PLATFORM_HOST.equals(implementation.getFileLocation().getHost())) {
+            return transpilation.get();
+        }
+
+        String cacheKey = createCacheKey(String.valueOf(implementation.getFileLocation()), implementation.getLanguage(), parameters,
+                connector.getName(), connector.getName(), qpu.getProvider(), qpu);
+        return getCached(cacheKey, implementation.getId(), transpilation);
+    }
+
+    /**
+     * Compile the given circuit with the given connector, or return the cached result of an earlier compilation
+     *
+     * @param connector    the connector to perform the compilation
+     * @param compilerName the name of the compiler to use
+     * @param circuit      the circuit and its language
+     * @param providerName the name of the provider of the QPU
+     * @param qpuName      the name of the QPU to compile the circuit for
+     * @param qpu          the QPU retrieved from QProv, or <code>null</code> if not available. In this case, the result is not cached
+     * @param parameters   the parameters for the compilation, including the access token if required
+     * @return the object containing all analysed properties of the quantum circuit
+     */
+    public CircuitInformation getCircuitProperties(SdkConnector connector, String compilerName, CircuitPayload circuit, String providerName,
+                                                   String qpuName, Qpu qpu, Map<String, ParameterValue> parameters) {
+        Supplier<CircuitInformation> compilation = () -> sdkConnectorMetrics.recordTranspilation(connector, providerName, qpuName,
+                () -> connector.getCircuitProperties(circuit, providerName, qpuName, parameters));
+
+        // calibration of the QPU is unknown
+        if (Objects.isNull(qpu)) {
+            return compilation.get();
+        }
+
+        String cacheKey = createCacheKey(circuit.getHash(), circuit.getLanguage(), parameters, connector.getName(), compilerName, providerName,
+                qpu);
+        return getCached(cacheKey, null, compilation);
+    }
+
+    /**
+     * Remove all cached transpilation results of the given implementation, e.g., because the implementation was updated
+     *
+     * @param implementationId the id of the implementation
+     */
+    public void invalidate(UUID implementationId) {
+        LOG.debug("Invalidating cached transpilation results of implementation {}.", implementationId);
+        synchronized (memoryCache) {
+            memoryCache.values().removeIf(entry -> implementationId.equals(entry.getImplementationId()));
+        }
+        if (persistent) {
+            try {
+                transpilationCacheEntryRepository.deleteByImplementationId(implementationId);
+            } catch (DataAccessException e) {
+                LOG.warn("Unable to remove transpilation results from persistent cache: {}", e.getMessage());
+            }
+        }
+    }
+
+    private CircuitInformation getCached(String cacheKey, UUID implementationId, Supplier<CircuitInformation> transpilation) {
+        TranspilationCacheEntry entry = memoryCache.get(cacheKey);
+        if (isValid(entry)) {
+            memoryHits.increment();
+            LOG.debug("Using transpilation result from in-memory cache for key {}.", cacheKey);
+            return toCircuitInformation(entry);
+        }
+
+        if (persistent) {
+            try {
+                entry = transpilationCacheEntryRepository.findByCacheKey(cacheKey).orElse(null);
+                if (isValid(entry)) {
+                    persistentHits.increment();
+                    LOG.debug("Using transpilation result from persistent cache for key {}.", cacheKey);
+                    memoryCache.put(cacheKey, entry);
+                    return toCircuitInformation(entry);
+                }
+            } catch (DataAccessException e) {
+                LOG.warn("Unable to retrieve transpilation result from persistent cache: {}", e.getMessage());
+            }
+        }
+
+        misses.increment();
+        CircuitInformation circuitInformation = transpilation.get();
+
+        // only successful transpilations are cached
+        if (Objects.nonNull(circuitInformation) && circuitInformation.wasTranspilationSuccessfull()) {
+            TranspilationCacheEntry newEntry = new TranspilationCacheEntry(cacheKey, implementationId, circuitInformation.getCircuitDepth(),
+                    circuitInformation.getCircuitWidth(), circuitInformation.getTranspiledCircuit(), circuitInformation.getTranspiledLanguage(),
+                    OffsetDateTime.now());
+            memoryCache.put(cacheKey, newEntry);
+            if (persistent) {
+                persist(newEntry);
+            }
+        }
+        return circuitInformation;
+    }
+
+    private void persist(TranspilationCacheEntry newEntry) {
+        try {
+            // replace outdated entries with the same key
+            transpilationCacheEntryRepository.findByCacheKey(newEntry.getCacheKey()).ifPresent(transpilationCacheEntryRepository::delete);
+            transpilationCacheEntryRepository.save(newEntry);
+        } catch (DataAccessException e) {
+            LOG.warn("Unable to store transpilation result in persistent cache: {}", e.getMessage());
+        }
+    }
+
+    private boolean isValid(TranspilationCacheEntry entry) {
+        return Objects.nonNull(entry) && entry.getTime().plusNanos(TimeUnit.MILLISECONDS.toNanos(timeToLive)).isAfter(OffsetDateTime.now());
+    }
+
+    private CircuitInformation toCircuitInformation(TranspilationCacheEntry entry) {
+        return new CircuitInformation(entry.getCircuitDepth(), entry.getCircuitWidth(), entry.getTranspiledCircuit(), entry.getTranspiledLanguage(),
+                null);
+    }
+
+    /**
+     * Create the cache key for a transpilation. The provider access token is only added as hash, as the key is persisted with the cached result.
+     */
+    static String createCacheKey(String circuit, String language, Map<String, ParameterValue> parameters, String connectorName,
+                                  String compilerName, String providerName, Qpu qpu) {
+        List<String> keyParts = new ArrayList<>();
+        keyParts.add(circuit);
+        keyParts.add(String.valueOf(language));
+        new TreeMap<>(parameters).forEach((name, value) -> {
+            if (!Constants.TOKEN_PARAMETER.equals(name)) {
+                keyParts.add(name + ":" + value.getType() + ":" + value.getRawValue());
+            } else if (Objects.nonNull(value.getRawValue()) && !value.getRawValue().isEmpty()) {
+                keyParts.add(name + ":" + DigestUtils.sha256Hex(value.getRawValue()));
+            }
+        });
+        keyParts.add(connectorName.toLowerCase());
+        keyParts.add(compilerName.toLowerCase());
+        keyParts.add(String.valueOf(providerName).toLowerCase());
+        keyParts.add(qpu.getName());
+
+        // fingerprint of the QPU calibration data from QProv
+        keyParts.add(qpu.getQubitCount() + ":" + qpu.getT1() + ":" + qpu.getMaxGateTime() + ":" + qpu.isSimulator());
+        return DigestUtils.sha256Hex(String.join("\n", keyParts));
+    }
+}
@@ -19,23 +19,21 @@
 
 package org.planqk.nisq.analyzer.core.connector.forest;
 
-import java.io.File;
-import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
-import org.planqk.nisq.analyzer.core.connector.ExecutionRequestResult;
+import org.planqk.nisq.analyzer.core.connector.ExecutionResultPoller;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.http.TokenManager;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
 import org.planqk.nisq.analyzer.core.model.Implementation;
@@ -51,8 +49,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import static org.planqk.nisq.analyzer.core.web.Utils.getBearerTokenFromRefreshToken;
-
 /**
  * Sdk connector which passes execution and analysis requests to a connected Forest service.
  */
@@ -64,6 +60,12 @@ public class ForestSdkConnector implements SdkConnector {
     @Value("${org.planqk.nisq.analyzer.connector.forest.pollInterval:10000}")
     private int pollInterval;
 
+    final private ExecutionResultPoller executionResultPoller;
+
+    final private RestTemplate restTemplate;
+
+    final private TokenManager tokenManager;
+
     // API Endpoints
     private URI transpileAPIEndpoint;
 
@@ -72,8 +74,15 @@ public class ForestSdkConnector implements SdkConnector {
     public ForestSdkConnector(
             @Value("${org.planqk.nisq.analyzer.connector.forest.hostname}") String hostname,
             @Value("${org.planqk.nisq.analyzer.connector.forest.port}") int port,
-            @Value("${org.planqk.nisq.analyzer.connector.forest.version}") String version
+            @Value("${org.planqk.nisq.analyzer.connector.forest.version}") String version,
+            ExecutionResultPoller executionResultPoller,
+            HttpClientService httpClientService,
+            TokenManager tokenManager
     ) {
+        this.executionResultPoller = executionResultPoller;
+        this.restTemplate = httpClientService.getRestTemplate(getName());
+        this.tokenManager = tokenManager;
+
         // compile the API endpoints
         transpileAPIEndpoint = URI.create(String.format("http://%s:%d/forest-service/api/%s/transpile", hostname, port, version));
         executeAPIEndpoint = URI.create(String.format("http://%s:%d/forest-service/api/%s/execute", hostname, port, version));
@@ -83,7 +92,7 @@ public class ForestSdkConnector implements SdkConnector {
     public void executeQuantumAlgorithmImplementation(Implementation implementation, Qpu qpu, Map<String, ParameterValue> parameters,
                                                       ExecutionResult executionResult, ExecutionResultRepository resultRepository, String refreshToken) {
         LOG.debug("Executing quantum algorithm implementation with Forest Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = tokenManager.getBearerToken(refreshToken);
         ForestRequest request = new ForestRequest(implementation.getFileLocation(), implementation.getLanguage(), qpu.getName(), parameters, bearerToken);
         executeQuantumCircuit(request, executionResult, resultRepository);
     }
@@ -98,7 +107,6 @@ public class ForestSdkConnector implements SdkConnector {
     }
 
     private void executeQuantumCircuit(ForestRequest request, ExecutionResult executionResult, ExecutionResultRepository resultRepository) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // make the execution request
             URI resultLocation = restTemplate.postForLocation(executeAPIEndpoint, request);
@@ -108,32 +116,8 @@ public class ForestSdkConnector implements SdkConnector {
             executionResult.setStatusCode("Pending for execution on Forest Service ...");
             resultRepository.save(executionResult);
 
-            // poll the Forest service frequently
-            while (executionResult.getStatus() != ExecutionResultStatus.FINISHED && executionResult.getStatus() != ExecutionResultStatus.FAILED) {
-                try {
-                    ExecutionRequestResult result = restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
-
-                    // Check if execution is completed
-                    if (result.isComplete()) {
-                        executionResult.setStatus(ExecutionResultStatus.FINISHED);
-                        executionResult.setStatusCode("Execution successfully completed.");
-                        executionResult.setResult(result.getResult().toString());
-                        resultRepository.save(executionResult);
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling result from Forest Service failed.");
-                    executionResult.setStatus(ExecutionResultStatus.FAILED);
-                    executionResult.setStatusCode("Polling result from Forest Service failed.");
-                    resultRepository.save(executionResult);
-                }
-            }
+            // track the execution until the result is available
+            executionResultPoller.track(getName(), "Forest Service", resultLocation, pollInterval, executionResult, resultRepository);
         } catch (RestClientException e) {
             LOG.error("Connection to Forest Service failed.");
             executionResult.setStatus(ExecutionResultStatus.FAILED);
@@ -146,30 +130,21 @@ public class ForestSdkConnector implements SdkConnector {
     public CircuitInformation getCircuitProperties(Implementation implementation, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug("Analysing quantum algorithm implementation with Forest Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = tokenManager.getBearerToken(refreshToken);
         ForestRequest request = new ForestRequest(implementation.getFileLocation(), implementation.getLanguage(), qpuName, parameters, bearerToken);
         return executeCircuitPropertiesRequest(request);
     }
 
     @Override
-    public CircuitInformation getCircuitProperties(File circuit, String language, String providerName, String qpuName,
+    public CircuitInformation getCircuitProperties(CircuitPayload circuit, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters) {
-        LOG.debug("Retrieving circuit properties for circuit passed as file with provider '{}', qpu '{}', and language '{}'.", providerName, qpuName,
-                language);
-        try {
-            // retrieve content form file and encode base64
-            String fileContent = FileUtils.readFileToString(circuit, StandardCharsets.UTF_8);
-            String encodedCircuit = Base64.getEncoder().encodeToString(fileContent.getBytes());
-            ForestRequest request = new ForestRequest(language, encodedCircuit, qpuName, parameters);
-            return executeCircuitPropertiesRequest(request);
-        } catch (IOException e) {
-            LOG.error("Unable to read file content from circuit file!");
-        }
-        return null;
+        LOG.debug("Retrieving circuit properties for circuit passed as payload with provider '{}', qpu '{}', and language '{}'.", providerName,
+                qpuName, circuit.getLanguage());
+        ForestRequest request = new ForestRequest(circuit.getLanguage(), circuit.getBase64Content(), qpuName, parameters);
+        return executeCircuitPropertiesRequest(request);
     }
 
     private CircuitInformation executeCircuitPropertiesRequest(ForestRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
         try {
             // Transpile the given algorithm implementation using Forest service
             ResponseEntity<CircuitInformation> response = restTemplate.postForEntity(transpileAPIEndpoint, request, CircuitInformation.class);
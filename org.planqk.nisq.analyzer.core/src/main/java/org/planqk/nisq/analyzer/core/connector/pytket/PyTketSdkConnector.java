@@ -19,22 +19,20 @@
 
 package org.planqk.nisq.analyzer.core.connector.pytket;
 
-import java.io.File;
-import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.io.FileUtils;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
-import org.planqk.nisq.analyzer.core.connector.ExecutionRequestResult;
+import org.planqk.nisq.analyzer.core.connector.ExecutionResultPoller;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.http.TokenManager;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.planqk.nisq.analyzer.core.model.DataType;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResultStatus;
@@ -47,13 +45,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import static org.planqk.nisq.analyzer.core.web.Utils.getBearerTokenFromRefreshToken;
-
 @Service
 public class PyTketSdkConnector implements SdkConnector {
 
@@ -64,6 +59,12 @@ public class PyTketSdkConnector implements SdkConnector {
     @Value("${org.planqk.nisq.analyzer.connector.pytket.pollInterval:10000}")
     private int pollInterval;
 
+    final private ExecutionResultPoller executionResultPoller;
+
+    final private RestTemplate restTemplate;
+
+    final private TokenManager tokenManager;
+
     // API Endpoints
     private URI transpileAPIEndpoint;
 
@@ -72,8 +73,15 @@ public class PyTketSdkConnector implements SdkConnector {
     public PyTketSdkConnector(
             @Value("${org.planqk.nisq.analyzer.connector.pytket.hostname}") String hostname,
             @Value("${org.planqk.nisq.analyzer.connector.pytket.port}") int port,
-            @Value("${org.planqk.nisq.analyzer.connector.pytket.version}") String version
+            @Value("${org.planqk.nisq.analyzer.connector.pytket.version}") String version,
+            ExecutionResultPoller executionResultPoller,
+            HttpClientService httpClientService,
+            TokenManager tokenManager
     ) {
+        this.executionResultPoller = executionResultPoller;
+        this.restTemplate = httpClientService.getRestTemplate(getName());
+        this.tokenManager = tokenManager;
+
         // compile the API endpoints
         this.transpileAPIEndpoint = URI.create(String.format("http://%s:%d/pytket-service/api/%s/transpile", hostname, port, version));
         this.executeAPIEndpoint = URI.create(String.format("http://%s:%d/pytket-service/api/%s/execute", hostname, port, version));
@@ -84,7 +92,7 @@ public class PyTketSdkConnector implements SdkConnector {
                                                       ExecutionResult executionResult, ExecutionResultRepository resultRepository, String refreshToken) {
 
         LOG.debug("Executing quantum algorithm implementation with PyTKet Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = tokenManager.getBearerToken(refreshToken);
         PyTketRequest request =
                 new PyTketRequest(implementation.getFileLocation(), implementation.getLanguage(), qpu.getName(), qpu.getProvider(), parameters, bearerToken);
         executeQuantumCircuit(request, executionResult, resultRepository);
@@ -121,7 +129,6 @@ public class PyTketSdkConnector implements SdkConnector {
     private void executeQuantumCircuit(PyTketRequest request, ExecutionResult executionResult, ExecutionResultRepository resultRepository) {
         try {
             // make the execution request
-            RestTemplate restTemplate = new RestTemplate();
             URI resultLocation = restTemplate.postForLocation(executeAPIEndpoint, request);
 
             // change the result status
@@ -129,32 +136,8 @@ public class PyTketSdkConnector implements SdkConnector {
             executionResult.setStatusCode("Pending for execution on PyTKet Service ...");
             resultRepository.save(executionResult);
 
-            // poll the PyTKet service frequently
-            while (executionResult.getStatus() != ExecutionResultStatus.FINISHED && executionResult.getStatus() != ExecutionResultStatus.FAILED) {
-                try {
-                    ExecutionRequestResult result = restTemplate.getForObject(resultLocation, ExecutionRequestResult.class);
-
-                    // Check if execution is completed
-                    if (result.isComplete()) {
-                        executionResult.setStatus(ExecutionResultStatus.FINISHED);
-                        executionResult.setStatusCode("Execution successfully completed.");
-                        executionResult.setResult(result.getResult().toString());
-                        resultRepository.save(executionResult);
-                    }
-
-                    // Wait for next poll
-                    try {
-                        Thread.sleep(pollInterval);
-                    } catch (InterruptedException e) {
-                        // pass
-                    }
-                } catch (RestClientException e) {
-                    LOG.error("Polling result from PyTKet Service failed.");
-                    executionResult.setStatus(ExecutionResultStatus.FAILED);
-                    executionResult.setStatusCode("Polling result from PyTKet Service failed.");
-                    resultRepository.save(executionResult);
-                }
-            }
+            // track the execution until the result is available
+            executionResultPoller.track(getName(), "PyTKet Service", resultLocation, pollInterval, executionResult, resultRepository);
         } catch (RestClientException e) {
             LOG.error("Connection to PyTKet Service failed.");
             executionResult.setStatus(ExecutionResultStatus.FAILED);
@@ -167,33 +150,22 @@ public class PyTketSdkConnector implements SdkConnector {
     public CircuitInformation getCircuitProperties(Implementation implementation, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters, String refreshToken) {
         LOG.debug("Analysing quantum algorithm implementation with PyTket Sdk connector plugin!");
-        String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
+        String bearerToken = tokenManager.getBearerToken(refreshToken);
         PyTketRequest request =
                 new PyTketRequest(implementation.getFileLocation(), implementation.getLanguage(), qpuName, providerName, parameters, bearerToken);
         return executeCircuitPropertiesRequest(request);
     }
 
     @Override
-    public CircuitInformation getCircuitProperties(File circuit, String language, String providerName, String qpuName,
+    public CircuitInformation getCircuitProperties(CircuitPayload circuit, String providerName, String qpuName,
                                                    Map<String, ParameterValue> parameters) {
-        LOG.debug("Retrieving circuit properties for circuit passed as file with provider '{}', qpu '{}', and language '{}'.", providerName, qpuName,
-                language);
-        try {
-            // retrieve content form file and encode base64
-            String fileContent = FileUtils.readFileToString(circuit, StandardCharsets.UTF_8);
-            String encodedCircuit = Base64.getEncoder().encodeToString(fileContent.getBytes());
-            PyTketRequest request = new PyTketRequest(encodedCircuit, parameters, language, qpuName, providerName);
-            return executeCircuitPropertiesRequest(request);
-        } catch (IOException e) {
-            LOG.error("Unable to read file content from circuit file!");
-        }
-        return null;
+        LOG.debug("Retrieving circuit properties for circuit passed as payload with provider '{}', qpu '{}', and language '{}'.", providerName,
+                qpuName, circuit.getLanguage());
+        PyTketRequest request = new PyTketRequest(circuit.getBase64Content(), parameters, circuit.getLanguage(), qpuName, providerName);
+        return executeCircuitPropertiesRequest(request);
     }
 
     private CircuitInformation executeCircuitPropertiesRequest(PyTketRequest request) {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory());
-
         try {
             // Transpile the given algorithm implementation using PyTket service
             ResponseEntity<CircuitInformation> response = restTemplate.postForEntity(transpileAPIEndpoint, request, CircuitInformation.class);
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Executor to perform the circuit analysis (i.e., the transpilation requests against the SDK connectors) concurrently. Each connector gets a
+ * separate bounded worker pool, so that the number of parallel requests against a single SDK service is limited. The same applies to the
+ * other services requested during a QPU selection, i.e., QProv and the translator, which use worker pools with their own name.
+ */
+@Service
+public class CircuitAnalysisExecutor {
+
+    final private static Logger LOG = LoggerFactory.getLogger(CircuitAnalysisExecutor.class);
+
+    final private static String CONNECTOR_CONCURRENCY_PROPERTY = "org.planqk.nisq.analyzer.analysis.connectorConcurrency.";
+
+    final private Map<String, ExecutorService> connectorExecutors = new ConcurrentHashMap<>();
+
+    final private Environment environment;
+
+    final private int defaultConnectorConcurrency;
+
+    public CircuitAnalysisExecutor(Environment environment,
+                                   @Value("${org.planqk.nisq.analyzer.analysis.connectorConcurrency:4}") int defaultConnectorConcurrency) {
+        this.environment = environment;
+        this.defaultConnectorConcurrency = Math.max(1, defaultConnectorConcurrency);
+    }
+
+    /**
+     * Asynchronously run the given analysis task with the worker pool of the given connector
+     *
+     * @param connectorName the name of the connector that is invoked by the task
+     * @param task          the task to run
+     * @param <T>           the type of the result of the task
+     * @return a future completing with the result of the task
+     */
+    public <T> CompletableFuture<T> submit(String connectorName, Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, connectorExecutors.computeIfAbsent(connectorName, this::createExecutor));
+    }
+
+    /**
+     * Get the maximum number of concurrent requests against the connector with the given name
+     *
+     * @param connectorName the name of the connector
+     * @return the maximum number of concurrent requests
+     */
+    public int getConcurrencyLimit(String connectorName) {
+        return Math.max(1, environment.getProperty(CONNECTOR_CONCURRENCY_PROPERTY + connectorName, Integer.class, defaultConnectorConcurrency));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connectorExecutors.values().forEach(ExecutorService::shutdown);
+        for (ExecutorService executor : connectorExecutors.values()) {
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ExecutorService createExecutor(String connectorName) {
+        int concurrency = getConcurrencyLimit(connectorName);
+        LOG.debug("Creating analysis worker pool with {} threads for connector '{}'.", concurrency, connectorName);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "analysis-" + connectorName + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(concurrency, threadFactory);
+    }
+}
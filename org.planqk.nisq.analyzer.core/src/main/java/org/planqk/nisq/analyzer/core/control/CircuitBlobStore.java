@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
+import org.planqk.nisq.analyzer.core.model.CircuitCompression;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
+import org.planqk.nisq.analyzer.core.repository.CircuitBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Content-addressed store for the quantum circuits of compilation and QPU selection results.
+ * <p>
+ * Circuits are stored once per content hash and referenced by all results using them, e.g., the initial circuit of a compiler selection is
+ * shared by the results for all compilers and the transpiled circuits of a QPU selection are shared with the corresponding compilation
+ * results. Circuits exceeding the configured threshold are compressed before storing them.
+ */
+@Service
+public class CircuitBlobStore {
+
+    final private static Logger LOG = LoggerFactory.getLogger(CircuitBlobStore.class);
+
+    final private CircuitBlobRepository circuitBlobRepository;
+
+    final private CircuitCompression compression;
+
+    // circuits smaller than the threshold in bytes are stored uncompressed
+    final private int compressionThreshold;
+
+    public CircuitBlobStore(CircuitBlobRepository circuitBlobRepository,
+                            @Value("${org.planqk.nisq.analyzer.circuits.compression:gzip}") String compression,
+                            @Value("${org.planqk.nisq.analyzer.circuits.compressionThreshold:512}") int compressionThreshold) {
+        this.circuitBlobRepository = circuitBlobRepository;
+        this.compression = CircuitCompression.valueOf(compression.toUpperCase());
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Store the given circuit, or return the already stored blob if a circuit with the same content exists
+     *
+     * @param circuit the circuit to store
+     * @return the blob containing the circuit or null if no circuit is given
+     */
+    public CircuitBlob store(String circuit) {
+        if (Objects.isNull(circuit)) {
+            return null;
+        }
+
+        byte[] bytes = circuit.getBytes(StandardCharsets.UTF_8);
+        return store(bytes, DigestUtils.sha256Hex(bytes));
+    }
+
+    /**
+     * Store the given circuit payload, or return the already stored blob if a circuit with the same content exists
+     *
+     * @param circuit the circuit to store
+     * @return the blob containing the circuit or null if no circuit is given
+     */
+    public CircuitBlob store(CircuitPayload circuit) {
+        if (Objects.isNull(circuit)) {
+            return null;
+        }
+
+        // the hash of the payload is computed on the same UTF-8 encoded bytes
+        return store(circuit.getBytes(), circuit.getHash());
+    }
+
+    private CircuitBlob store(byte[] bytes, String hash) {
+        Optional<CircuitBlob> existingBlob = circuitBlobRepository.findById(hash);
+        if (existingBlob.isPresent()) {
+            return existingBlob.get();
+        }
+
+        CircuitCompression blobCompression = bytes.length >= compressionThreshold ? compression : CircuitCompression.NONE;
+        CircuitBlob blob = new CircuitBlob(hash, blobCompression, bytes.length, compress(bytes, blobCompression));
+        try {
+            LOG.debug("Storing circuit with hash {} ({} bytes, compression: {})", hash, bytes.length, blobCompression);
+            return circuitBlobRepository.save(blob);
+        } catch (DataIntegrityViolationException e) {
+            // the same circuit was stored concurrently
+            return circuitBlobRepository.findById(hash).orElseThrow(() -> e);
+        }
+    }
+
+    private static byte[] compress(byte[] bytes, CircuitCompression compression) {
+        if (compression == CircuitCompression.NONE) {
+            return bytes;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compress circuit", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service to push the results of running analysis, compilation, and QPU selection jobs to subscribed clients using Server-Sent Events.
+ */
+@Service
+public class JobEventPublisher {
+
+    final private static Logger LOG = LoggerFactory.getLogger(JobEventPublisher.class);
+
+    final private Map<UUID, List<JobEventSubscription<?>>> subscriptions = new ConcurrentHashMap<>();
+
+    // time in milliseconds after which a subscription is closed
+    final private long timeout;
+
+    public JobEventPublisher(@Value("${org.planqk.nisq.analyzer.jobs.events.timeout:1800}") long timeout) {
+        this.timeout = TimeUnit.SECONDS.toMillis(timeout);
+    }
+
+    /**
+     * Subscribe to the events of the job with the given id
+     *
+     * @param jobId     the id of the job
+     * @param converter the function to convert the results of the job to the objects sent to the client
+     * @return the subscription containing the emitter to return to the client
+     */
+    public <T> JobEventSubscription<T> subscribe(UUID jobId, Function<T, ?> converter) {
+        JobEventSubscription<T> subscription = new JobEventSubscription<>(timeout, converter);
+        subscriptions.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        subscription.onClose(() -> unsubscribe(jobId, subscription));
+        LOG.debug("New subscription for events of job with id {}.", jobId);
+        return subscription;
+    }
+
+    /**
+     * Send a newly stored result of the job with the given id to all subscribers
+     *
+     * @param jobId  the id of the job
+     * @param result the stored result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void publishResult(UUID jobId, T result) {
+        for (JobEventSubscription<?> subscription : subscriptions.getOrDefault(jobId, new CopyOnWriteArrayList<>())) {
+            ((JobEventSubscription<T>) subscription).sendResult(result);
+        }
+    }
+
+    /**
+     * Notify all subscribers that the job with the given id is completed and close the subscriptions
+     *
+     * @param jobId the id of the job
+     */
+    public void publishReady(UUID jobId) {
+        List<JobEventSubscription<?>> jobSubscriptions = subscriptions.remove(jobId);
+        if (jobSubscriptions != null) {
+            LOG.debug("Notifying {} subscribers about completion of job with id {}.", jobSubscriptions.size(), jobId);
+            jobSubscriptions.forEach(JobEventSubscription::sendReady);
+        }
+    }
+
+    /**
+     * Notify all subscribers that the job with the given id failed and close the subscriptions
+     *
+     * @param jobId the id of the job
+     */
+    public void publishFailed(UUID jobId) {
+        List<JobEventSubscription<?>> jobSubscriptions = subscriptions.remove(jobId);
+        if (jobSubscriptions != null) {
+            LOG.debug("Notifying {} subscribers about failure of job with id {}.", jobSubscriptions.size(), jobId);
+            jobSubscriptions.forEach(JobEventSubscription::sendFailed);
+        }
+    }
+
+    private void unsubscribe(UUID jobId, JobEventSubscription<?> subscription) {
+        subscriptions.computeIfPresent(jobId, (id, jobSubscriptions) -> {
+            jobSubscriptions.remove(subscription);
+            return jobSubscriptions.isEmpty() ? null : jobSubscriptions;
+        });
+    }
+}
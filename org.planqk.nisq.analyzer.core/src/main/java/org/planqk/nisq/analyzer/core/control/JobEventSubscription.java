@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Subscription of a client to the events of a job. Each result of the job is sent as a "result" event, the completion of the job is sent as a
+ * final "ready" event, or as a final "failed" event if the job was aborted by an unexpected error.
+ */
+public class JobEventSubscription<T> {
+
+    final private static Logger LOG = LoggerFactory.getLogger(JobEventSubscription.class);
+
+    final public static String RESULT_EVENT = "result";
+
+    final public static String READY_EVENT = "ready";
+
+    final public static String FAILED_EVENT = "failed";
+
+    @Getter
+    final private SseEmitter emitter;
+
+    final private Function<T, ?> converter;
+
+    final private AtomicBoolean closed = new AtomicBoolean(false);
+
+    private Runnable closeHandler = () -> {
+    };
+
+    JobEventSubscription(long timeout, Function<T, ?> converter) {
+        this.emitter = new SseEmitter(timeout);
+        this.converter = converter;
+        this.emitter.onCompletion(this::close);
+        this.emitter.onTimeout(this::close);
+        this.emitter.onError(e -> close());
+    }
+
+    /**
+     * Send the given result of the job to the client
+     *
+     * @param result the result to send
+     */
+    public synchronized void sendResult(T result) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(RESULT_EVENT).data(converter.apply(result), MediaType.APPLICATION_JSON));
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Unable to send result to client: {}", e.getMessage());
+            emitter.completeWithError(e);
+            close();
+        }
+    }
+
+    /**
+     * Notify the client that the job is completed and close the subscription
+     */
+    public void sendReady() {
+        sendFinalEvent(READY_EVENT);
+    }
+
+    /**
+     * Notify the client that the job failed and close the subscription
+     */
+    public void sendFailed() {
+        sendFinalEvent(FAILED_EVENT);
+    }
+
+    private synchronized void sendFinalEvent(String eventName) {
+        if (closed.get()) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(""));
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Unable to send completion to client: {}", e.getMessage());
+            emitter.completeWithError(e);
+        }
+        close();
+    }
+
+    /**
+     * Close the subscription without notifying the client, e.g., if the job does not exist
+     */
+    public void cancel() {
+        close();
+    }
+
+    void onClose(Runnable closeHandler) {
+        this.closeHandler = closeHandler;
+    }
+
+    private void close() {
+        if (closed.compareAndSet(false, true)) {
+            closeHandler.run();
+        }
+    }
+}
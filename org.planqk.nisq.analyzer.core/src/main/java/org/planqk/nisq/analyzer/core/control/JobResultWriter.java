@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.planqk.nisq.analyzer.core.model.HasId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Writer buffering the results of a job and storing them in batches. After each batch, the job is stored once to make the partial results
+ * visible to readers and the stored results are published to the subscribers of the job.
+ */
+public class JobResultWriter<R extends HasId> {
+
+    final private static Logger LOG = LoggerFactory.getLogger(JobResultWriter.class);
+
+    final private UUID jobId;
+
+    final private List<R> jobResults;
+
+    final private JpaRepository<R, UUID> resultRepository;
+
+    final private Runnable jobSaver;
+
+    final private JobEventPublisher jobEventPublisher;
+
+    final private int batchSize;
+
+    final private long flushInterval;
+
+    // source of the current time in milliseconds to determine if the flush interval has elapsed
+    final private LongSupplier clock;
+
+    final private List<R> buffer = new ArrayList<>();
+
+    private long lastFlush;
+
+    JobResultWriter(UUID jobId, List<R> jobResults, JpaRepository<R, UUID> resultRepository, Runnable jobSaver,
+                    JobEventPublisher jobEventPublisher, int batchSize, long flushInterval, LongSupplier clock) {
+        this.jobId = jobId;
+        this.jobResults = jobResults;
+        this.resultRepository = resultRepository;
+        this.jobSaver = jobSaver;
+        this.jobEventPublisher = jobEventPublisher;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.clock = clock;
+        this.lastFlush = clock.getAsLong();
+    }
+
+    /**
+     * Add a new result to the job, the result is stored with the next batch
+     *
+     * @param result the result to add
+     */
+    public synchronized void add(R result) {
+        buffer.add(result);
+        if (buffer.size() >= batchSize || clock.getAsLong() - lastFlush >= flushInterval) {
+            flush();
+        }
+    }
+
+    /**
+     * Store all buffered results and add them to the job
+     */
+    public synchronized void flush() {
+        lastFlush = clock.getAsLong();
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Storing batch of {} results for job with id {}.", buffer.size(), jobId);
+        List<R> storedResults = resultRepository.saveAll(buffer);
+        buffer.clear();
+        jobResults.addAll(storedResults);
+        jobSaver.run();
+        storedResults.forEach(result -> jobEventPublisher.publishResult(jobId, result));
+    }
+}
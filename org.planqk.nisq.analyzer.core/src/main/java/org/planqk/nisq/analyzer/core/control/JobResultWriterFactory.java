@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.planqk.nisq.analyzer.core.model.HasId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service to create {@link JobResultWriter}s with the configured batch size and flush interval.
+ */
+@Service
+public class JobResultWriterFactory {
+
+    final private JobEventPublisher jobEventPublisher;
+
+    // maximum number of results stored in one batch
+    final private int batchSize;
+
+    // time in milliseconds after which buffered results are stored even if the batch is not full
+    final private long flushInterval;
+
+    public JobResultWriterFactory(JobEventPublisher jobEventPublisher,
+                                  @Value("${org.planqk.nisq.analyzer.jobs.results.batchSize:20}") int batchSize,
+                                  @Value("${org.planqk.nisq.analyzer.jobs.results.flushInterval:2000}") long flushInterval) {
+        this.jobEventPublisher = jobEventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Create a writer for the results of the job with the given id
+     *
+     * @param jobId            the id of the job
+     * @param jobResults       the list of results of the job, the stored results are added to this list
+     * @param resultRepository the repository to store the results
+     * @param jobSaver         the function to store the job after a batch of results was added
+     * @return the writer for the job results
+     */
+    public <R extends HasId> JobResultWriter<R> createWriter(UUID jobId, List<R> jobResults, JpaRepository<R, UUID> resultRepository,
+                                                           Runnable jobSaver) {
+        return new JobResultWriter<>(jobId, jobResults, resultRepository, jobSaver, jobEventPublisher, batchSize, flushInterval,
+                System::currentTimeMillis);
+    }
+}
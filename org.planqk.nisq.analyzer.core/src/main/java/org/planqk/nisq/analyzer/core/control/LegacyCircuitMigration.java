@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.planqk.nisq.analyzer.core.model.LegacyCompilationResultCircuits;
+import org.planqk.nisq.analyzer.core.model.LegacyQpuSelectionResultCircuits;
+import org.planqk.nisq.analyzer.core.repository.LegacyCompilationResultCircuitsRepository;
+import org.planqk.nisq.analyzer.core.repository.LegacyQpuSelectionResultCircuitsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+/**
+ * One-time migration of the circuits of compilation and QPU selection results which were stored in LOB columns of the result tables before
+ * the circuits were moved to the {@link CircuitBlobStore}. On startup, the remaining legacy circuits are stored in batches as blobs, the
+ * results reference these blobs, and the legacy columns are cleared, so that later starts find nothing to migrate.
+ */
+@Service
+public class LegacyCircuitMigration {
+
+    final private static Logger LOG = LoggerFactory.getLogger(LegacyCircuitMigration.class);
+
+    final private static int BATCH_SIZE = 100;
+
+    final private LegacyCompilationResultCircuitsRepository compilationResultRepository;
+
+    final private LegacyQpuSelectionResultCircuitsRepository qpuSelectionResultRepository;
+
+    final private CircuitBlobStore circuitBlobStore;
+
+    public LegacyCircuitMigration(LegacyCompilationResultCircuitsRepository compilationResultRepository,
+                                  LegacyQpuSelectionResultCircuitsRepository qpuSelectionResultRepository,
+                                  CircuitBlobStore circuitBlobStore) {
+        this.compilationResultRepository = compilationResultRepository;
+        this.qpuSelectionResultRepository = qpuSelectionResultRepository;
+        this.circuitBlobStore = circuitBlobStore;
+    }
+
+    /**
+     * Migrate the circuits of all results which still contain circuits in the legacy columns
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        migrate("compilation results", compilationResultRepository,
+                compilationResultRepository::findByInitialCircuitIsNotNullOrTranspiledCircuitIsNotNull, this::migrate);
+        migrate("QPU selection results", qpuSelectionResultRepository, qpuSelectionResultRepository::findByTranspiledCircuitIsNotNull,
+                this::migrate);
+    }
+
+    private void migrate(LegacyCompilationResultCircuits result) {
+        if (Objects.isNull(result.getInitialCircuitHash())) {
+            result.setInitialCircuitHash(storeCircuit(result.getInitialCircuit()));
+        }
+        if (Objects.isNull(result.getTranspiledCircuitHash())) {
+            result.setTranspiledCircuitHash(storeCircuit(result.getTranspiledCircuit()));
+        }
+        result.setInitialCircuit(null);
+        result.setTranspiledCircuit(null);
+    }
+
+    private void migrate(LegacyQpuSelectionResultCircuits result) {
+        if (Objects.isNull(result.getTranspiledCircuitHash())) {
+            result.setTranspiledCircuitHash(storeCircuit(result.getTranspiledCircuit()));
+        }
+        result.setTranspiledCircuit(null);
+    }
+
+    private String storeCircuit(String circuit) {
+        return Objects.nonNull(circuit) ? circuitBlobStore.store(circuit).getHash() : null;
+    }
+
+    /**
+     * Migrate the results returned by the given query in batches until no results with legacy circuits are left. Migrated results no longer
+     * match the query, so always the first page is requested.
+     */
+    private <T> void migrate(String resultType, JpaRepository<T, UUID> repository, Function<Pageable, List<T>> legacyResults,
+                             Consumer<T> migration) {
+        int migrated = 0;
+        try {
+            List<T> batch = legacyResults.apply(PageRequest.of(0, BATCH_SIZE));
+            while (!batch.isEmpty()) {
+                batch.forEach(migration);
+                repository.saveAll(batch);
+                migrated += batch.size();
+                batch = legacyResults.apply(PageRequest.of(0, BATCH_SIZE));
+            }
+        } catch (RuntimeException e) {
+            // the remaining results are migrated with the next start
+            LOG.error("Migration of the circuits of {} failed after {} results: {}", resultType, migrated, e.getMessage());
+            return;
+        }
+
+        if (migrated > 0) {
+            LOG.info("Migrated the circuits of {} {} to the circuit table.", migrated, resultType);
+        }
+    }
+}
@@ -19,14 +19,14 @@
 
 package org.planqk.nisq.analyzer.core.control;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,12 +34,17 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.connector.CircuitInformation;
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
+import org.planqk.nisq.analyzer.core.connector.SdkConnectorMetrics;
+import org.planqk.nisq.analyzer.core.connector.TranspilationCache;
 import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologFactUpdater;
 import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologKnowledgeBaseHandler;
 import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologQueryEngine;
@@ -47,6 +52,8 @@ import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologUtility;
 import org.planqk.nisq.analyzer.core.model.AnalysisCandidate;
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
 import org.planqk.nisq.analyzer.core.model.AnalysisResult;
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
 import org.planqk.nisq.analyzer.core.model.DataType;
@@ -60,6 +67,7 @@ import org.planqk.nisq.analyzer.core.model.Provider;
 import org.planqk.nisq.analyzer.core.model.Qpu;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionJob;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.model.QpuSuitabilityCheck;
 import org.planqk.nisq.analyzer.core.qprov.QProvService;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.AnalysisResultRepository;
@@ -69,11 +77,15 @@ import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ImplementationRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
+import org.planqk.nisq.analyzer.core.scheduler.JobQueueFullException;
+import org.planqk.nisq.analyzer.core.scheduler.JobScheduler;
+import org.planqk.nisq.analyzer.core.scheduler.JobType;
 import org.planqk.nisq.analyzer.core.translator.TranslatorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 /**
@@ -85,6 +97,11 @@ public class NisqAnalyzerControlService {
 
     final private static Logger LOG = LoggerFactory.getLogger(NisqAnalyzerControlService.class);
 
+    // names of the worker pools of the circuit analysis executor used for the requests against QProv and the translator
+    final private static String QPROV_WORKER_POOL = "qprov";
+
+    final private static String TRANSLATOR_WORKER_POOL = "translator";
+
     final private List<SdkConnector> connectorList;
 
     final private ImplementationRepository implementationRepository;
@@ -99,6 +116,8 @@ public class NisqAnalyzerControlService {
 
     final private PrologKnowledgeBaseHandler prologKnowledgeBaseHandler;
 
+    final private PrologFactUpdater prologFactUpdater;
+
     final private QProvService qProvService;
 
     final private TranslatorService translatorService;
@@ -111,6 +130,22 @@ public class NisqAnalyzerControlService {
 
     final private QpuSelectionResultRepository qpuSelectionResultRepository;
 
+    final private CircuitAnalysisExecutor circuitAnalysisExecutor;
+
+    final private TranspilationCache transpilationCache;
+
+    final private JobScheduler jobScheduler;
+
+    final private JobEventPublisher jobEventPublisher;
+
+    final private JobResultWriterFactory jobResultWriterFactory;
+
+    final private CircuitBlobStore circuitBlobStore;
+
+    final private SdkConnectorMetrics sdkConnectorMetrics;
+
+    final private MeterRegistry meterRegistry;
+
     /**
      * Execute the given quantum algorithm implementation with the given input parameters and return the corresponding output of the execution.
      *
@@ -118,6 +153,7 @@ public class NisqAnalyzerControlService {
      * @param inputParameters the input parameters for the execution as key/value pairs
      * @return the ExecutionResult to track the current status and store the result
      * @throws RuntimeException is thrown in case the execution of the algorithm implementation fails
+     * @throws JobQueueFullException is thrown in case no further executions can be accepted at the moment
      */
     public ExecutionResult executeQuantumAlgorithmImplementation(AnalysisResult result, Map<String, ParameterValue> inputParameters, String refreshToken)
             throws RuntimeException {
@@ -146,9 +182,9 @@ public class NisqAnalyzerControlService {
                         "Passing execution to executor plugin.", result, null, null, null, implementation));
 
         // execute implementation
-        new Thread(() -> selectedSdkConnector
-                .executeQuantumAlgorithmImplementation(implementation, qpu.get(), inputParameters, executionResult,
-                        executionResultRepository, refreshToken)).start();
+        submitExecution(executionResult, () -> sdkConnectorMetrics.recordExecution(selectedSdkConnector, result.getProvider(), result.getQpu(),
+                executionResult, () -> selectedSdkConnector.executeQuantumAlgorithmImplementation(implementation, qpu.get(), inputParameters,
+                        executionResult, executionResultRepository, refreshToken)));
 
         return executionResult;
     }
@@ -178,10 +214,12 @@ public class NisqAnalyzerControlService {
                         null, null));
 
         // execute implementation
-        new Thread(() -> selectedSdkConnector
-                .executeTranspiledQuantumCircuit(result.getTranspiledCircuit(), result.getTranspiledLanguage(), result.getProvider(), result.getQpu(),
-                        inputParameters,
-                        executionResult, executionResultRepository)).start();
+        String transpiledCircuit = CircuitBlob.toCircuit(result.getTranspiledCircuit());
+        submitExecution(executionResult, () -> sdkConnectorMetrics.recordExecution(selectedSdkConnector, result.getProvider(), result.getQpu(),
+                executionResult, () -> selectedSdkConnector
+                        .executeTranspiledQuantumCircuit(transpiledCircuit, result.getTranspiledLanguage(), result.getProvider(), result.getQpu(),
+                                inputParameters,
+                                executionResult, executionResultRepository)));
 
         return executionResult;
     }
@@ -211,14 +249,32 @@ public class NisqAnalyzerControlService {
                 null, null));
 
         // execute implementation
-        new Thread(() -> selectedSdkConnector
-            .executeTranspiledQuantumCircuit(result.getTranspiledCircuit(), result.getTranspiledLanguage(), result.getProvider(), result.getQpu(),
-                inputParameters,
-                executionResult, executionResultRepository)).start();
+        String transpiledCircuit = CircuitBlob.toCircuit(result.getTranspiledCircuit());
+        submitExecution(executionResult, () -> sdkConnectorMetrics.recordExecution(selectedSdkConnector, result.getProvider(), result.getQpu(),
+            executionResult, () -> selectedSdkConnector
+                .executeTranspiledQuantumCircuit(transpiledCircuit, result.getTranspiledLanguage(), result.getProvider(), result.getQpu(),
+                    inputParameters,
+                    executionResult, executionResultRepository)));
 
         return executionResult;
     }
 
+    /**
+     * Schedule the given execution and remove the corresponding execution result if the execution can not be accepted
+     *
+     * @param executionResult the execution result that is updated by the execution
+     * @param execution       the execution to schedule
+     * @throws JobQueueFullException is thrown in case no further executions can be accepted at the moment
+     */
+    private void submitExecution(ExecutionResult executionResult, Runnable execution) throws JobQueueFullException {
+        try {
+            jobScheduler.submit(JobType.EXECUTION, execution);
+        } catch (JobQueueFullException e) {
+            executionResultRepository.delete(executionResult);
+            throw e;
+        }
+    }
+
     /**
      * Perform the selection of suitable implementations and corresponding QPUs for the given algorithm and the provided set of input parameters
      *
@@ -234,21 +290,30 @@ public class NisqAnalyzerControlService {
         // check all implementation if they can handle the given set of input parameters
         List<Implementation> implementations = implementationRepository.findByImplementedAlgorithm(algorithm);
 
-        // Update the Prolog files for implementations
+        // Update the Prolog files for implementations and connectors
         rebuildImplementationPrologFiles();
-        // Activate the Prolog files
+        // Activate the Prolog files, only changed files are consulted again
         implementationRepository.findAll().stream().map(HasId::getId).forEach(id -> prologKnowledgeBaseHandler.activatePrologFile(id.toString()));
+        connectorList.stream().map(c -> c.getClass().getSimpleName()).forEach(name -> prologKnowledgeBaseHandler.activatePrologFile(name));
 
         LOG.debug("Found {} implementations for the algorithm.", implementations.size());
-        List<Implementation> executableImplementations = implementations.stream()
+        List<Implementation> executableImplementations = getSelectionPhaseTimer("rule-filtering").record(() -> implementations.stream()
                 .filter(implementation -> parametersAvailable(getRequiredParameters(implementation), inputParameters))
                 .filter(implementation -> prologQueryEngine
-                        .checkExecutability(implementation.getSelectionRule(), convertToTypedPrologLiterals(inputParameters, implementation)))
-                .collect(Collectors.toList());
+                        .checkExecutability(implementation.getId(), implementation.getSelectionRule(),
+                                convertToTypedPrologLiterals(inputParameters, implementation)))
+                .collect(Collectors.toList()));
         LOG.debug("{} implementations are executable for the given input parameters after applying the selection rules.",
                 executableImplementations.size());
 
         List<AnalysisResult> analysisResults = new ArrayList<>();
+        job.setJobResults(analysisResults);
+        JobResultWriter<AnalysisResult> resultWriter =
+                jobResultWriterFactory.createWriter(job.getId(), analysisResults, analysisResultRepository, () -> analysisJobRepository.save(job));
+
+        // the circuit analysis for all candidates is performed concurrently, the suitability of all transpiled candidates is checked at once
+        List<CompletableFuture<Void>> pendingAnalyses = new ArrayList<>();
+        List<Map.Entry<QpuSuitabilityCheck, AnalysisResult>> transpiledCandidates = Collections.synchronizedList(new ArrayList<>());
 
         // Iterate over all providers listed in QProv
         for (Provider provider : qProvService.getProviders()) {
@@ -260,9 +325,7 @@ public class NisqAnalyzerControlService {
             rebuildQPUPrologFiles(qpus);
 
             // Activate the Prolog files
-            implementationRepository.findAll().stream().map(HasId::getId).forEach(id -> prologKnowledgeBaseHandler.activatePrologFile(id.toString()));
             qpus.stream().forEach(qpu -> prologKnowledgeBaseHandler.activatePrologFile(qpu.getId().toString()));
-            connectorList.stream().map(c -> c.getClass().getSimpleName()).forEach(name -> prologKnowledgeBaseHandler.activatePrologFile(name));
 
             // determine all suitable QPUs for the executable implementations
             for (Implementation executableImpl : executableImplementations) {
@@ -270,7 +333,8 @@ public class NisqAnalyzerControlService {
                         executableImpl.getId(), executableImpl.getSdk().getName());
 
                 // get all suitable QPUs for the implementation based on the provided SDK
-                List<AnalysisCandidate> suitableCandidates = prologQueryEngine.getSuitableCandidates(executableImpl.getId());
+                List<AnalysisCandidate> suitableCandidates =
+                        getSelectionPhaseTimer("candidate-lookup").record(() -> prologQueryEngine.getSuitableCandidates(executableImpl.getId()));
                 if (suitableCandidates.isEmpty()) {
                     LOG.debug("Prolog query returns no suited QPUs. Skipping implementation {} for the selection!", executableImpl.getName());
                     continue;
@@ -302,53 +366,133 @@ public class NisqAnalyzerControlService {
 
                     LOG.debug("Checking if QPU {} is suitable for implementation {}.", qpu.getName(), executableImpl.getName());
 
-                    // analyze the quantum circuit by utilizing the capabilities of the suited plugin and retrieve important circuit properties
-                    CircuitInformation circuitInformation =
-                            selectedSdkConnector.getCircuitProperties(executableImpl, qpu.getProvider(), qpu.getName(), execInputParameters, refreshToken);
+                    // analyze the quantum circuit by utilizing the capabilities of the suited plugin and retrieve important circuit properties,
+                    // the transpile phase includes the time waiting for a free slot of the connector
+                    Timer.Sample transpileSample = Timer.start(meterRegistry);
+                    pendingAnalyses.add(circuitAnalysisExecutor.submit(selectedSdkConnector.getName(),
+                            () -> transpilationCache
+                                    .getCircuitProperties(selectedSdkConnector, executableImpl, qpu, execInputParameters, refreshToken))
+                            .whenComplete((circuitInformation, e) -> transpileSample.stop(getSelectionPhaseTimer("transpile")))
+                            .thenAccept(circuitInformation -> handleCircuitInformation(transpiledCandidates, algorithm, inputParameters,
+                                    provider, qpu, selectedSdkConnector, executableImpl, circuitInformation))
+                            .exceptionally(e -> {
+                                LOG.error("Circuit analysis of implementation {} for QPU {} failed: {}", executableImpl.getName(), qpu.getName(),
+                                        e.getMessage());
+                                return null;
+                            }));
+                }
+            }
+        }
 
-                    // if something unexpected happened
-                    if (Objects.isNull(circuitInformation)) {
-                        LOG.error("Circuit analysis by compiler unexpectedly failed.");
-                        continue;
-                    }
+        // wait until the analysis for all candidates is finished
+        LOG.debug("Waiting for {} pending circuit analyses.", pendingAnalyses.size());
+        CompletableFuture.allOf(pendingAnalyses.toArray(new CompletableFuture[0])).join();
 
-                    // skip qpu if some (expected) error occured during transpilation,
-                    // e.g. too many qubits required or the input wasn't suitable for the implementation
-                    if (!circuitInformation.wasTranspilationSuccessfull()) {
-                        LOG.debug("Transpilation of circuit impossible: {}. Skipping Qpu.", circuitInformation.getError());
-                        continue;
-                    }
+        // check the suitability of all transpiled candidates with a single Prolog query
+        getSelectionPhaseTimer("suitability").record(() -> addSuitableResults(resultWriter, transpiledCandidates));
 
-                    if (prologQueryEngine.isQpuSuitable(executableImpl.getId(), qpu.getId(), circuitInformation.getCircuitWidth(),
-                            circuitInformation.getCircuitDepth())) {
-
-                        // qpu is suited candidate to execute the implementation
-                        AnalysisResult result = analysisResultRepository.save(new AnalysisResult(
-                                algorithm, qpu.getName(), provider.getName(),
-                                selectedSdkConnector.getName(), executableImpl, inputParameters, OffsetDateTime.now(),
-                                circuitInformation.getCircuitDepth(), circuitInformation.getCircuitWidth()));
+        // store the remaining results
+        resultWriter.flush();
+        job.setReady(true);
+        analysisJobRepository.save(job);
+        jobEventPublisher.publishReady(job.getId());
+    }
 
-                        analysisResults.add(result);
-                        job.setJobResults(analysisResults);
-                        job = analysisJobRepository.save(job);
+    /**
+     * Check the circuit information retrieved from the given connector and collect the analysis result of the candidate if the transpilation
+     * was successful
+     */
+    private void handleCircuitInformation(List<Map.Entry<QpuSuitabilityCheck, AnalysisResult>> transpiledCandidates, UUID algorithm,
+                                          Map<String, String> inputParameters, Provider provider, Qpu qpu, SdkConnector selectedSdkConnector,
+                                          Implementation executableImpl, CircuitInformation circuitInformation) {
+        // if something unexpected happened
+        if (Objects.isNull(circuitInformation)) {
+            LOG.error("Circuit analysis by compiler unexpectedly failed.");
+            return;
+        }
 
-                        LOG.debug("QPU {} suitable for implementation {}.", qpu.getName(), executableImpl.getName());
-                    } else {
-                        LOG.debug("QPU {} not suitable for implementation {}.", qpu.getName(), executableImpl.getName());
-                        continue;
-                    }
-                }
-            }
+        // skip qpu if some (expected) error occured during transpilation,
+        // e.g. too many qubits required or the input wasn't suitable for the implementation
+        if (!circuitInformation.wasTranspilationSuccessfull()) {
+            LOG.debug("Transpilation of circuit impossible: {}. Skipping Qpu.", circuitInformation.getError());
+            return;
         }
 
-        job.setReady(true);
-        analysisJobRepository.save(job);
+        QpuSuitabilityCheck check = new QpuSuitabilityCheck(executableImpl.getId(), qpu.getId(), circuitInformation.getCircuitWidth(),
+                circuitInformation.getCircuitDepth());
+        AnalysisResult analysisResult = new AnalysisResult(
+                algorithm, qpu.getName(), provider.getName(),
+                selectedSdkConnector.getName(), executableImpl, inputParameters, OffsetDateTime.now(),
+                circuitInformation.getCircuitDepth(), circuitInformation.getCircuitWidth());
+        transpiledCandidates.add(new AbstractMap.SimpleImmutableEntry<>(check, analysisResult));
+    }
+
+    /**
+     * Add the analysis results of all transpiled candidates whose QPU is suitable to execute the implementation to the job. The results are
+     * passed to the result writer as soon as they are found by the query, so that they are stored and published while the query is running.
+     */
+    private void addSuitableResults(JobResultWriter<AnalysisResult> resultWriter,
+                                    List<Map.Entry<QpuSuitabilityCheck, AnalysisResult>> transpiledCandidates) {
+        List<QpuSuitabilityCheck> checks = transpiledCandidates.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+        prologQueryEngine.getSuitableQpus(checks, index -> {
+            AnalysisResult analysisResult = transpiledCandidates.get(index).getValue();
+            resultWriter.add(analysisResult);
+            LOG.debug("QPU {} suitable for implementation {}.", analysisResult.getQpu(), analysisResult.getImplementation().getName());
+        });
     }
 
     public void performSelection(AnalysisJob job, UUID algorithm, Map<String, String> inputParameters) throws UnsatisfiedLinkError {
         performSelection(job, algorithm, inputParameters, "");
     }
 
+    /**
+     * Mark the given analysis job as failed and ready, e.g., if the selection was aborted by an unexpected error
+     *
+     * @param job the job to mark as failed
+     */
+    public void markFailed(AnalysisJob job) {
+        job.setFailed(true);
+        job.setReady(true);
+        analysisJobRepository.save(job);
+        handleJobFailure(job.getId());
+    }
+
+    /**
+     * Mark the given compilation job as failed and ready, e.g., if the compilation was aborted by an unexpected error
+     *
+     * @param job the job to mark as failed
+     */
+    public void markFailed(CompilationJob job) {
+        job.setFailed(true);
+        job.setReady(true);
+        compilationJobRepository.save(job);
+        handleJobFailure(job.getId());
+    }
+
+    /**
+     * Mark the given QPU selection job as failed and ready, e.g., if the selection was aborted by an unexpected error
+     *
+     * @param job the job to mark as failed
+     */
+    public void markFailed(QpuSelectionJob job) {
+        job.setFailed(true);
+        job.setReady(true);
+        qpuSelectionJobRepository.save(job);
+        handleJobFailure(job.getId());
+    }
+
+    private void handleJobFailure(UUID jobId) {
+        LOG.warn("Job with id {} failed and is marked as ready.", jobId);
+        jobEventPublisher.publishFailed(jobId);
+    }
+
+    /**
+     * Get the timer recording the durations of the given phase of the implementation and QPU selection
+     */
+    private Timer getSelectionPhaseTimer(String phase) {
+        return Timer.builder("nisq.selection.phase").tag("phase", phase).register(meterRegistry);
+    }
+
     /**
      * Get the required parameters to select implementations for the given algorithm
      *
@@ -370,43 +514,52 @@ public class NisqAnalyzerControlService {
      * @param job             the compilation job object for the long-running task
      * @param providerName    the name of the provider of the QPU
      * @param qpuName         the name of the QPU for which the circuit should be compiled
-     * @param circuitLanguage the language of the quantum circuit
-     * @param circuitCode     the file containing the circuit to compile
+     * @param circuit         the circuit to compile and its language
      * @param circuitName     user defined name to (partly) distinguish circuits
      * @param compilerNames   an optional list of compiler names to restrict the compilers to use. If not set, all supported compilers are used
      * @param token           the token to access the specified QPU
      */
-    public void performCompilerSelection(CompilationJob job, String providerName, String qpuName, String circuitLanguage,
-                                         File circuitCode, String circuitName, List<String> compilerNames, String token) {
-
-        // analyze compilers and retrieve suitable compilation results
-        List<CompilationResult> compilerAnalysisResults =
-                selectCompiler(providerName, qpuName, circuitLanguage, circuitCode, circuitName, compilerNames, token);
+    public void performCompilerSelection(CompilationJob job, String providerName, String qpuName, CircuitPayload circuit, String circuitName,
+                                         List<String> compilerNames, String token) {
+        LOG.debug("Performing compiler selection for QPU with name '{}' from provider with name '{}'!", qpuName, providerName);
+        Qpu qpu = qProvService.getQpuByName(qpuName, providerName).orElse(null);
 
-        // add result to DB and connect with CompilationJob
-        for (CompilationResult result : compilerAnalysisResults) {
-            CompilationResult compilationResult = compilerAnalysisResultRepository.save(result);
-            job.getJobResults().add(compilationResult);
-        }
+        // add results to DB and connect with CompilationJob as soon as the corresponding compilation finishes
+        JobResultWriter<CompilationResult> resultWriter = jobResultWriterFactory
+                .createWriter(job.getId(), job.getJobResults(), compilerAnalysisResultRepository, () -> compilationJobRepository.save(job));
+        CircuitCompilationContext context = new CircuitCompilationContext(circuit, circuitName);
+        List<CompletableFuture<Void>> pendingCompilations = selectCompiler(context, providerName, qpuName, qpu, compilerNames, token).stream()
+                .map(compilation -> compilation.thenAccept(result -> {
+                    if (Objects.nonNull(result)) {
+                        resultWriter.add(result);
+                    }
+                }))
+                .collect(Collectors.toList());
+        CompletableFuture.allOf(pendingCompilations.toArray(new CompletableFuture[0])).join();
+        resultWriter.flush();
 
         // store updated result object
         LOG.debug("Results: " + job.getJobResults().size());
         job.setReady(true);
         compilationJobRepository.save(job);
+        jobEventPublisher.publishReady(job.getId());
     }
 
     /**
      * Perform the selection of a suitable QPUs for the given quantum circuit
+     * <p>
+     * The QPUs of all providers are retrieved concurrently and the compilations for all QPUs and compilers are performed in parallel, limited
+     * by the worker pools of the connectors. Translations of the circuit are only performed once per target language for the whole job, and
+     * the results are added to the job as soon as the corresponding compilation finishes.
      *
      * @param job               the QPU selection job for the long-running task
      * @param allowedProviders  an optional list with providers to include into the selection. If not specified all providers are taken into account.
-     * @param circuitLanguage   the language of the circuit for which the QPU selection should be performed
-     * @param circuitCode       the file containing the circuit
+     * @param circuit           the circuit for which the QPU selection should be performed and its language
      * @param tokens            a map with access tokens for the different quantum hardware providers
      * @param simulatorsAllowed <code>true</code> if also simulators should be included into the selection, <code>false</code> otherwise
      * @param circuitName     user defined name to (partly) distinguish circuits
      */
-    public void performQpuSelectionForCircuit(QpuSelectionJob job, List<String> allowedProviders, String circuitLanguage, File circuitCode,
+    public void performQpuSelectionForCircuit(QpuSelectionJob job, List<String> allowedProviders, CircuitPayload circuit,
                                               Map<String,String> tokens, boolean simulatorsAllowed, String circuitName) {
 
         // make name of providers case-insensitive
@@ -417,7 +570,11 @@ public class NisqAnalyzerControlService {
             circuitName = "temp";
         }
 
-        // iterate over all providers listed in QProv for the QPU selection
+        JobResultWriter<QpuSelectionResult> resultWriter = jobResultWriterFactory
+                .createWriter(job.getId(), job.getJobResults(), qpuSelectionResultRepository, () -> qpuSelectionJobRepository.save(job));
+
+        // retrieve the QPUs of all providers listed in QProv for the QPU selection concurrently
+        Map<Provider, CompletableFuture<List<Qpu>>> qpusOfProviders = new LinkedHashMap<>();
         for (Provider provider : qProvService.getProviders()) {
 
             // filter providers that are not contained in the list of allowed providers
@@ -427,10 +584,29 @@ public class NisqAnalyzerControlService {
                 continue;
             }
 
+            if (!caseInsensitiveTokens.containsKey(provider.getName())) {
+                LOG.debug("No suited access token for provider '{}' available. Skipping!", provider.getName());
+                continue;
+            }
+
             LOG.debug("Performing QPU selection for provider with name: {}", provider.getName());
+            qpusOfProviders.put(provider, circuitAnalysisExecutor.submit(QPROV_WORKER_POOL, () -> qProvService.getQPUs(provider))
+                    .exceptionally(e -> {
+                        LOG.error("Unable to retrieve QPUs of provider '{}': {}", provider.getName(), e.getMessage());
+                        return Collections.emptyList();
+                    }));
+        }
 
-            // get available QPUs
-            List<Qpu> qpus = qProvService.getQPUs(provider);
+        // we currently restrict the set of compilers to use to reduce the runtime
+        List<String> compilersToUse = Arrays.asList(Constants.QISKIT, Constants.FOREST);
+
+        // start the compilations for all QPUs as soon as the QPUs of the corresponding provider are available
+        CircuitCompilationContext context = new CircuitCompilationContext(circuit, circuitName);
+        List<CompletableFuture<Void>> pendingCompilations = new ArrayList<>();
+        for (Map.Entry<Provider, CompletableFuture<List<Qpu>>> qpusOfProvider : qpusOfProviders.entrySet()) {
+            Provider provider = qpusOfProvider.getKey();
+            String token = caseInsensitiveTokens.get(provider.getName());
+            List<Qpu> qpus = qpusOfProvider.getValue().join();
             LOG.debug("Found {} QPUs from provider '{}'!", qpus.size(), provider.getName());
 
             for (Qpu qpu : qpus) {
@@ -441,61 +617,48 @@ public class NisqAnalyzerControlService {
                     continue;
                 }
 
-                String token = caseInsensitiveTokens.get(provider.getName());
-                if (Objects.isNull(token)) {
-                    LOG.debug("No suited access token for this provider available. Skipping!");
-                    continue;
-                }
-
-                // we currently restrict the set of compilers to use to reduce the runtime
-                List<String> compilersToUse = Arrays.asList(Constants.QISKIT, Constants.FOREST);
-
-                // perform compiler selection for the given QPU and circuit
-                List<CompilationResult> compilationResults =
-                        selectCompiler(provider.getName(), qpu.getName(), circuitLanguage, circuitCode, circuitName, compilersToUse, token);
-                LOG.debug("Retrieved {} compilation results!", compilationResults.size());
-
-                // add results to the database and the job
-                for (CompilationResult result : compilationResults) {
-                    QpuSelectionResult qpuSelectionResult = qpuSelectionResultRepository
-                            .save(new QpuSelectionResult(provider.getName(), qpu.getName(), qpu.getQueueSize(), OffsetDateTime.now(), result.getCircuitName(), result.getTranspiledCircuit(),
-                                    result.getTranspiledLanguage(), result.getCompiler(), result.getAnalyzedDepth(), result.getAnalyzedWidth(), result.getToken()));
-                    job.getJobResults().add(qpuSelectionResult);
+                // perform compiler selection for the given QPU and circuit and add the results to the database and the job
+                for (CompletableFuture<CompilationResult> compilation : selectCompiler(context, provider.getName(), qpu.getName(), qpu,
+                        compilersToUse, token)) {
+                    pendingCompilations.add(compilation.thenAccept(result -> {
+                        if (Objects.nonNull(result)) {
+                            resultWriter.add(new QpuSelectionResult(provider.getName(), qpu.getName(), qpu.getQueueSize(), OffsetDateTime.now(),
+                                    result.getCircuitName(), result.getTranspiledCircuit(), result.getTranspiledLanguage(), result.getCompiler(),
+                                    result.getAnalyzedDepth(), result.getAnalyzedWidth(), result.getToken()));
+                        }
+                    }));
                 }
             }
         }
 
+        // wait until all compilations are finished
+        LOG.debug("Waiting for {} pending compilations.", pendingCompilations.size());
+        CompletableFuture.allOf(pendingCompilations.toArray(new CompletableFuture[0])).join();
+        resultWriter.flush();
+
         // store updated result object
         LOG.debug("Results: " + job.getJobResults().size());
         job.setReady(true);
         qpuSelectionJobRepository.save(job);
+        jobEventPublisher.publishReady(job.getId());
     }
 
     /**
-     * Compile the given circuit for the given QPU with all supported or a subset of the supported compilers and return the resulting compiled
-     * circuits as well as some analysis details
+     * Compile the given circuit for the given QPU with all supported or a subset of the supported compilers
      *
-     * @param providerName    the name of the provider of the QPU
-     * @param qpuName         the name of the QPU for which the circuit should be compiled
-     * @param circuitLanguage the language of the quantum circuit
-     * @param circuitCode     the file containing the circuit to compile
-     * @param circuitName     user defined name to (partly) distinguish circuits
-     * @param compilerNames   an optional list of compiler names to restrict the compilers to use. If not set, all supported compilers are used
-     * @param token           the token to access the specified QPU
-     * @return the List of compilation results
+     * @param context       the circuit to compile and the state shared by all compilations of the circuit within the job
+     * @param providerName  the name of the provider of the QPU
+     * @param qpuName       the name of the QPU for which the circuit should be compiled
+     * @param qpu           the QPU retrieved from QProv, or <code>null</code> if not available
+     * @param compilerNames an optional list of compiler names to restrict the compilers to use. If not set, all supported compilers are used
+     * @param token         the token to access the specified QPU
+     * @return a future per compiler completing with the compilation result, or with <code>null</code> if the compilation failed or the
+     * compiled circuit is not executable on the QPU
      */
-    private List<CompilationResult> selectCompiler(String providerName, String qpuName, String circuitLanguage,
-                                                   File circuitCode, String circuitName, List<String> compilerNames, String token) {
-        List<CompilationResult> compilerAnalysisResults = new ArrayList<>();
-        LOG.debug("Performing compiler selection for QPU with name '{}' from provider with name '{}'!", qpuName, providerName);
-        Qpu qpu = qProvService.getQpuByName(qpuName, providerName).orElse(null);
-
-        String initialCircuitAsString = "";
-        try {
-            initialCircuitAsString = FileUtils.readFileToString(circuitCode, StandardCharsets.UTF_8);
-        } catch (IOException e) {
-            LOG.warn("Unable to read initial circuit as string to store it for later analysis!");
-        }
+    private List<CompletableFuture<CompilationResult>> selectCompiler(CircuitCompilationContext context, String providerName, String qpuName,
+                                                                      Qpu qpu, List<String> compilerNames, String token) {
+        List<CompletableFuture<CompilationResult>> compilations = new ArrayList<>();
+        String circuitLanguage = context.getCircuit().getLanguage();
 
         // retrieve list of compilers that should be used for the comparison
         List<String> compilersToUse;
@@ -527,8 +690,7 @@ public class NisqAnalyzerControlService {
             }
 
             // translate circuit for the compiler if needed
-            File circuitToCompile = circuitCode;
-            String circuitToCompileLanguage = circuitLanguage;
+            CompletableFuture<CircuitPayload> circuitToCompile = CompletableFuture.completedFuture(context.getCircuit());
             if (!connector.getLanguagesForSdk(compilerName).contains(circuitLanguage.toLowerCase())) {
                 LOG.debug("Circuit language '{}' not supported by the compiler. Translating circuit...", circuitLanguage);
 
@@ -546,61 +708,80 @@ public class NisqAnalyzerControlService {
                     continue;
                 }
 
-                circuitToCompile = translatorService.tranlateCircuit(circuitCode, circuitLanguage, targetLanguage);
-                circuitToCompileLanguage = targetLanguage;
-
-                // skip the compiler if translation into required language failed
-                if (Objects.isNull(circuitToCompile)) {
-                    LOG.warn("Unable to translate quantum circuit into required language for compiler '{}'. Skipping...", compilerName);
-                    continue;
-                }
+                circuitToCompile = context.translate(targetLanguage);
             }
 
-            // compile circuit for the QPU
-            LOG.debug("Invoking compilation with circuit language: {}", circuitToCompileLanguage);
-            Map<String, ParameterValue> params = new HashMap<>();
-            params.put(Constants.TOKEN_PARAMETER, new ParameterValue(DataType.Unknown, token));
-            CircuitInformation circuitInformation =
-                    connector.getCircuitProperties(circuitToCompile, circuitToCompileLanguage, providerName, qpuName, params);
-
-            if (Objects.isNull(circuitInformation) || Objects.nonNull(circuitInformation.getError())) {
-                if (Objects.nonNull(circuitInformation)) {
-                    LOG.error("Compilation failed with error: {}", circuitInformation.getError());
-                } else {
-                    LOG.error("Compilation with compiler '{}' failed!", compilerName);
-                }
-                continue;
-            }
+            // compile circuit for the QPU as soon as the translation is available
+            compilations.add(circuitToCompile
+                    .thenCompose(circuit -> compile(context, connector, compilerName, circuit, providerName, qpuName, qpu, token))
+                    .exceptionally(e -> {
+                        LOG.error("Compilation with compiler '{}' for QPU '{}' failed: {}", compilerName, qpuName, e.getMessage());
+                        return null;
+                    }));
+        }
+        return compilations;
+    }
 
-            if (Objects.isNull(qpu)) {
-                LOG.warn("Unable to retrieve QPU with name '{}' from QProv. Adding all compilation results without executability filtering!",
-                        qpuName);
+    /**
+     * Asynchronously compile the given circuit with the worker pool of the given connector
+     */
+    private CompletableFuture<CompilationResult> compile(CircuitCompilationContext context, SdkConnector connector, String compilerName,
+                                                         CircuitPayload circuit, String providerName, String qpuName, Qpu qpu,
+                                                         String token) {
+        // skip the compiler if translation into required language failed
+        if (Objects.isNull(circuit)) {
+            LOG.warn("Unable to translate quantum circuit into required language for compiler '{}'. Skipping...", compilerName);
+            return CompletableFuture.completedFuture(null);
+        }
 
-                // add resulting compiled circuit to result list
-                compilerAnalysisResults.add(new CompilationResult(providerName, qpuName, compilerName, circuitInformation.getCircuitDepth(),
-                        circuitInformation.getCircuitWidth(), circuitName, initialCircuitAsString, circuitInformation.getTranspiledCircuit(),
-                        circuitInformation.getTranspiledLanguage(), token, OffsetDateTime.now()));
-                continue;
-            }
+        LOG.debug("Invoking compilation with circuit language: {}", circuit.getLanguage());
+        Map<String, ParameterValue> params = new HashMap<>();
+        params.put(Constants.TOKEN_PARAMETER, new ParameterValue(DataType.Unknown, token));
+        return circuitAnalysisExecutor.submit(connector.getName(),
+                () -> transpilationCache.getCircuitProperties(connector, compilerName, circuit, providerName, qpuName, qpu, params))
+                .thenApply(circuitInformation -> createCompilationResult(context, compilerName, providerName, qpuName, qpu, token,
+                        circuitInformation));
+    }
 
-            // check if QPU is simulator or can handle the depth in the current decoherence time
-            if (qpu.isSimulator() || qpu.getT1() / qpu.getMaxGateTime() >= circuitInformation.getCircuitDepth()) {
-                compilerAnalysisResults.add(new CompilationResult(providerName, qpuName, compilerName, circuitInformation.getCircuitDepth(),
-                        circuitInformation.getCircuitWidth(), circuitName, initialCircuitAsString, circuitInformation.getTranspiledCircuit(),
-                        circuitInformation.getTranspiledLanguage(), token, OffsetDateTime.now()));
+    /**
+     * Create the compilation result for the given circuit information if the compilation was successful and the compiled circuit can be
+     * executed on the given QPU
+     *
+     * @return the compilation result or <code>null</code> if the compilation failed or the compiled circuit is not executable on the QPU
+     */
+    private CompilationResult createCompilationResult(CircuitCompilationContext context, String compilerName, String providerName,
+                                                      String qpuName, Qpu qpu, String token, CircuitInformation circuitInformation) {
+        if (Objects.isNull(circuitInformation) || Objects.nonNull(circuitInformation.getError())) {
+            if (Objects.nonNull(circuitInformation)) {
+                LOG.error("Compilation failed with error: {}", circuitInformation.getError());
             } else {
-                LOG.debug("Skipping compilation result as depth ({}) is higher than estimated maximum depth!", circuitInformation.getCircuitDepth());
+                LOG.error("Compilation with compiler '{}' failed!", compilerName);
             }
+            return null;
+        }
+
+        if (Objects.isNull(qpu)) {
+            LOG.warn("Unable to retrieve QPU with name '{}' from QProv. Adding all compilation results without executability filtering!",
+                    qpuName);
+        } else if (!qpu.isSimulator() && qpu.getT1() / qpu.getMaxGateTime() < circuitInformation.getCircuitDepth()) {
+            // QPU is no simulator and can not handle the depth in the current decoherence time
+            LOG.debug("Skipping compilation result as depth ({}) is higher than estimated maximum depth!", circuitInformation.getCircuitDepth());
+            return null;
         }
-        return compilerAnalysisResults;
+
+        // add resulting compiled circuit to result list
+        return new CompilationResult(providerName, qpuName, compilerName, circuitInformation.getCircuitDepth(),
+                circuitInformation.getCircuitWidth(), context.getCircuitName(), context.getInitialCircuit(),
+                circuitBlobStore.store(circuitInformation.getTranspiledCircuit()), circuitInformation.getTranspiledLanguage(), token,
+                OffsetDateTime.now());
     }
 
     private void rebuildImplementationPrologFiles() {
-        PrologFactUpdater prologFactUpdater = new PrologFactUpdater(prologKnowledgeBaseHandler);
-        if (implementationRepository.findAll().isEmpty()) {
+        List<Implementation> implementations = implementationRepository.findAll();
+        if (implementations.isEmpty()) {
             LOG.debug("No implementations found in database");
         }
-        for (Implementation impl : implementationRepository.findAll()) {
+        for (Implementation impl : implementations) {
             if (!prologKnowledgeBaseHandler.doesPrologFileExist(impl.getId().toString())) {
                 prologFactUpdater.handleImplementationInsertion(impl);
                 LOG.debug("Rebuild prolog file for implementation {}", impl.getName());
@@ -609,7 +790,7 @@ public class NisqAnalyzerControlService {
 
         for (SdkConnector connector : connectorList) {
 
-            String connectorName = connector.getName();
+            String connectorName = connector.getClass().getSimpleName();
 
             if (!prologKnowledgeBaseHandler.doesPrologFileExist(connectorName)) {
                 prologFactUpdater.handleSDKConnectorInsertion(connector);
@@ -622,8 +803,6 @@ public class NisqAnalyzerControlService {
      * rebuild the prolog files for the implementations and qpus, if the app crashs or no prolog files are in temp folder.
      */
     private void rebuildQPUPrologFiles(List<Qpu> qpus) {
-        PrologFactUpdater prologFactUpdater = new PrologFactUpdater(prologKnowledgeBaseHandler);
-
         // Add Prolog files for the provided QPUs
         for (Qpu qpu : qpus) {
             if (!prologKnowledgeBaseHandler.doesPrologFileExist(qpu.getId().toString())) {
@@ -717,4 +896,44 @@ public class NisqAnalyzerControlService {
                 providedParameterNames.size());
         return requiredParameters.stream().allMatch(param -> providedParameterNames.contains(param.getName()));
     }
+
+    /**
+     * State shared by all compilations of a circuit within a job: the stored initial circuit and the translations of the circuit, which are
+     * only performed once per target language
+     */
+    private class CircuitCompilationContext {
+
+        @Getter
+        final private CircuitPayload circuit;
+
+        @Getter
+        final private String circuitName;
+
+        final private Map<String, CompletableFuture<CircuitPayload>> translations = new ConcurrentHashMap<>();
+
+        private CircuitBlob initialCircuit;
+
+        CircuitCompilationContext(CircuitPayload circuit, String circuitName) {
+            this.circuit = circuit;
+            this.circuitName = circuitName;
+        }
+
+        /**
+         * Get the stored initial circuit, which is stored on first access, i.e., with the first compilation result
+         */
+        synchronized CircuitBlob getInitialCircuit() {
+            if (Objects.isNull(initialCircuit)) {
+                initialCircuit = circuitBlobStore.store(circuit);
+            }
+            return initialCircuit;
+        }
+
+        /**
+         * Translate the circuit into the given language, or return the pending or finished translation if it was already requested
+         */
+        CompletableFuture<CircuitPayload> translate(String targetLanguage) {
+            return translations.computeIfAbsent(targetLanguage, language -> circuitAnalysisExecutor.submit(TRANSLATOR_WORKER_POOL,
+                    () -> translatorService.translateCircuit(circuit, language)));
+        }
+    }
 }
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.http;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Service providing the HTTP clients to access the backends of the NISQ Analyzer, i.e., the SDK services, QProv, the translator, and the
+ * PlanQK platform. All clients share one connection pool with a limited number of connections per host, which keeps connections alive to
+ * avoid a new TCP handshake per request and requests gzip compressed responses. The timeouts can be configured for each backend.
+ */
+@Service
+public class HttpClientService {
+
+    final private static Logger LOG = LoggerFactory.getLogger(HttpClientService.class);
+
+    final private static String CONNECT_TIMEOUT_PROPERTY = "org.planqk.nisq.analyzer.http.connectTimeout.";
+
+    final private static String READ_TIMEOUT_PROPERTY = "org.planqk.nisq.analyzer.http.readTimeout.";
+
+    final private Map<String, RestTemplate> restTemplates = new ConcurrentHashMap<>();
+
+    final private Environment environment;
+
+    final private PoolingHttpClientConnectionManager connectionManager;
+
+    final private CloseableHttpClient httpClient;
+
+    final private int defaultConnectTimeout;
+
+    final private int defaultReadTimeout;
+
+    final private int connectionRequestTimeout;
+
+    public HttpClientService(
+            Environment environment,
+            @Value("${org.planqk.nisq.analyzer.http.maxConnections:100}") int maxConnections,
+            @Value("${org.planqk.nisq.analyzer.http.maxConnectionsPerHost:20}") int maxConnectionsPerHost,
+            @Value("${org.planqk.nisq.analyzer.http.keepAlive:60}") long keepAlive,
+            @Value("${org.planqk.nisq.analyzer.http.connectTimeout:5000}") int defaultConnectTimeout,
+            @Value("${org.planqk.nisq.analyzer.http.readTimeout:120000}") int defaultReadTimeout,
+            @Value("${org.planqk.nisq.analyzer.http.connectionRequestTimeout:30000}") int connectionRequestTimeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.environment = environment;
+        this.defaultConnectTimeout = defaultConnectTimeout;
+        this.defaultReadTimeout = defaultReadTimeout;
+        this.connectionRequestTimeout = connectionRequestTimeout;
+
+        this.connectionManager = new PoolingHttpClientConnectionManager(keepAlive, TimeUnit.SECONDS);
+        this.connectionManager.setMaxTotal(Math.max(1, maxConnections));
+        this.connectionManager.setDefaultMaxPerRoute(Math.max(1, maxConnectionsPerHost));
+
+        // keep connections alive as long as allowed by the server, but at most for the configured time
+        long maxKeepAlive = TimeUnit.SECONDS.toMillis(keepAlive);
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, maxKeepAlive) : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive, TimeUnit.SECONDS)
+                .build();
+
+        registerPoolGauge(meterRegistry, "leased", PoolStats::getLeased);
+        registerPoolGauge(meterRegistry, "available", PoolStats::getAvailable);
+        registerPoolGauge(meterRegistry, "pending", PoolStats::getPending);
+        registerPoolGauge(meterRegistry, "max", PoolStats::getMax);
+    }
+
+    /**
+     * Get the client to send requests to the backend with the given name
+     *
+     * @param backendName the name of the backend, used to retrieve the configured timeouts
+     * @return the client using the shared connection pool
+     */
+    public RestTemplate getRestTemplate(String backendName) {
+        return restTemplates.computeIfAbsent(backendName, this::createRestTemplate);
+    }
+
+    private RestTemplate createRestTemplate(String backendName) {
+        int connectTimeout = environment.getProperty(CONNECT_TIMEOUT_PROPERTY + backendName, Integer.class, defaultConnectTimeout);
+        int readTimeout = environment.getProperty(READ_TIMEOUT_PROPERTY + backendName, Integer.class, defaultReadTimeout);
+        LOG.debug("Creating HTTP client for backend '{}' with connect timeout {} ms and read timeout {} ms.", backendName, connectTimeout,
+                readTimeout);
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        requestFactory.setConnectionRequestTimeout(connectionRequestTimeout);
+        return new RestTemplate(requestFactory);
+    }
+
+    private void registerPoolGauge(MeterRegistry meterRegistry, String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("nisq.http.pool.connections", connectionManager, manager -> value.applyAsDouble(manager.getTotalStats()))
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            LOG.warn("Unable to close HTTP client: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.http;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Service to exchange refresh tokens of the PlanQK platform for bearer tokens. The bearer tokens are cached per refresh token until shortly
+ * before they expire, and concurrent requests for the same refresh token share one exchange with the token endpoint. The number of cached
+ * tokens is bounded, and the least recently used token is evicted once the configured cache size is reached.
+ */
+@Service
+public class TokenManager {
+
+    final private static Logger LOG = LoggerFactory.getLogger(TokenManager.class);
+
+    // name of the backend to retrieve the configured HTTP timeouts
+    final private static String BACKEND_NAME = "auth";
+
+    final private ObjectMapper mapper = new ObjectMapper();
+
+    // LRU cache of the pending and finished token exchanges by the hash of the refresh token
+    final private Map<String, CompletableFuture<BearerToken>> tokens;
+
+    final private RestTemplate restTemplate;
+
+    final private String tokenEndpoint;
+
+    final private String clientId;
+
+    // time in milliseconds before the expiry of a bearer token after which it is no longer used
+    final private long expiryMargin;
+
+    final private Counter cacheHits;
+
+    final private Counter cacheMisses;
+
+    public TokenManager(
+            @Value("${org.planqk.nisq.analyzer.auth.tokenEndpoint:https://platform.planqk.de/auth/realms/planqk/protocol/openid-connect/token}")
+                    String tokenEndpoint,
+            @Value("${org.planqk.nisq.analyzer.auth.clientId:vue-frontend}") String clientId,
+            @Value("${org.planqk.nisq.analyzer.auth.expiryMargin:30}") long expiryMargin,
+            @Value("${org.planqk.nisq.analyzer.auth.cache.size:1000}") int cacheSize,
+            HttpClientService httpClientService,
+            MeterRegistry meterRegistry
+    ) {
+        this.tokenEndpoint = tokenEndpoint;
+        this.clientId = clientId;
+        this.expiryMargin = TimeUnit.SECONDS.toMillis(expiryMargin);
+        int maxTokens = Math.max(1, cacheSize);
+        this.tokens = Collections.synchronizedMap(new LinkedHashMap<String, CompletableFuture<BearerToken>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<BearerToken>> eldest) {
+                return size() > maxTokens;
+            }
+        });
+        this.restTemplate = httpClientService.getRestTemplate(BACKEND_NAME);
+        this.cacheHits = Counter.builder("nisq.auth.tokens.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("nisq.auth.tokens.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("nisq.auth.tokens.cached", tokens, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Get a valid bearer token for the given refresh token of the PlanQK platform
+     *
+     * @param refreshToken valid refresh token from the PlanQK platform
+     * @return the bearer token, or an empty string if no refresh token is given or the token exchange failed
+     */
+    public String getBearerToken(String refreshToken) {
+        if (Objects.isNull(refreshToken) || refreshToken.isEmpty()) {
+            LOG.info("No refresh token provided, cannot get bearer token.");
+            return "";
+        }
+
+        String key = DigestUtils.sha256Hex(refreshToken);
+        CompletableFuture<BearerToken> newExchange = new CompletableFuture<>();
+        CompletableFuture<BearerToken> exchange = tokens.compute(key, (k, existing) -> {
+            if (Objects.nonNull(existing) && (!existing.isDone() || isValid(existing.getNow(null)))) {
+                return existing;
+            }
+            return newExchange;
+        });
+
+        if (exchange != newExchange) {
+            cacheHits.increment();
+            BearerToken token = exchange.join();
+            return Objects.nonNull(token) ? token.value : "";
+        }
+
+        cacheMisses.increment();
+        BearerToken token = null;
+        try {
+            token = requestBearerToken(refreshToken);
+        } finally {
+            // failed exchanges are not cached to retry them with the next request
+            if (Objects.isNull(token)) {
+                tokens.remove(key, exchange);
+            }
+            exchange.complete(token);
+        }
+        return Objects.nonNull(token) ? token.value : "";
+    }
+
+    private BearerToken requestBearerToken(String refreshToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
+        map.add("grant_type", "refresh_token");
+        map.add("client_id", clientId);
+        map.add("refresh_token", refreshToken);
+
+        try {
+            ResponseEntity<String> response = restTemplate.postForEntity(tokenEndpoint, new HttpEntity<>(map, headers), String.class);
+            JsonNode json = mapper.readTree(response.getBody());
+
+            if (json.has("error")) {
+                LOG.error("Could not get new tokens. Received error message: " + json.at("/error_description").asText());
+                return null;
+            }
+
+            long expiresIn = TimeUnit.SECONDS.toMillis(json.at("/expires_in").asLong(0));
+            return new BearerToken(json.at("/access_token").asText(), System.currentTimeMillis() + expiresIn - expiryMargin);
+        } catch (RestClientException | IOException e) {
+            LOG.error("Could not get new tokens: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isValid(BearerToken token) {
+        return Objects.nonNull(token) && token.validUntil > System.currentTimeMillis();
+    }
+
+    private static class BearerToken {
+
+        final private String value;
+
+        // time in milliseconds until which the token can be used
+        final private long validUntil;
+
+        private BearerToken(String value, long validUntil) {
+            this.value = value;
+            this.validUntil = validUntil;
+        }
+    }
+}
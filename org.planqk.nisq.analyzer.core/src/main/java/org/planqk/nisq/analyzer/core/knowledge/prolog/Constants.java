@@ -28,11 +28,27 @@ public class Constants {
 
     // basic rule to check the executability of an implementation on the available QPUs
     public static final String QPU_RULE_NAME = "executableOnQpuRule";
+    public static final String QPU_RULE_PREDICATE = "executableOnQpu";
     public static final String QPU_RULE_CONTENT = "executableOnQpu(RequiredQubits, CircuitDepth, Impl, Qpu) :- requiredSdk(Impl, ReqSdk), hasProvider(Qpu, Prov), supportsSDK(Connector, ReqSdk), supportsProvider(Connector, Prov), providesQubits(Qpu, ProvidedQubit), ProvidedQubit >= RequiredQubits, t1Time(Qpu,T1Time), maxGateTime(Qpu,GateTime), (isSimulator(Qpu) ; CircuitDepth =< T1Time/GateTime).";
 
     public static final String QPU_TRANSP_RULE_NAME = "transpilableOnQpuRule";
+    public static final String QPU_TRANSP_RULE_PREDICATE = "transpilableOnQpu";
     public static final String QPU_TRANSP_RULE_CONTENT = "transpilableOnQpu(Impl, Qpu, Connector) :- requiredSdk(Impl, ReqSdk), supportsSDK(Connector, ReqSdk), supportsProvider(Connector, Provider), hasProvider(Qpu, Provider).";
 
+    // predicates to assert and retract the facts and rules of a scope in the in-memory knowledge base, the multifile declarations of the
+    // asserted content are turned into dynamic declarations
+    public static final String MEMORY_KB_PROGRAM = String.join(System.lineSeparator(),
+            ":- dynamic nisq_scope_clause/2.",
+            ":- dynamic implements/2, requiredSdk/2, providesQubits/2, usedSdk/2, t1Time/2, maxGateTime/2, hasProvider/2, isSimulator/1.",
+            ":- dynamic supportsSDK/2, supportsProvider/2.",
+            "nisq_assert_scope(Scope, Text) :- open_string(Text, Stream), call_cleanup(nisq_assert_terms(Scope, Stream), close(Stream)).",
+            "nisq_assert_terms(Scope, Stream) :- read_term(Stream, Term, []), "
+                    + "(Term == end_of_file -> true ; nisq_assert_term(Scope, Term), nisq_assert_terms(Scope, Stream)).",
+            "nisq_assert_term(_, (:- multifile(Spec))) :- !, dynamic(Spec).",
+            "nisq_assert_term(_, (:- Directive)) :- !, call(Directive).",
+            "nisq_assert_term(Scope, Clause) :- assertz(Clause, Ref), assertz(nisq_scope_clause(Scope, Ref)).",
+            "nisq_retract_scope(Scope) :- forall(retract(nisq_scope_clause(Scope, Ref)), erase(Ref)).");
+
     // path to store the files for the local knowledge base
     public static final String basePath = System.getProperty("java.io.tmpdir") + File.separator + "nisq-analyzer";
 }
@@ -21,6 +21,7 @@ package org.planqk.nisq.analyzer.core.knowledge.prolog;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.connector.SdkConnector;
@@ -42,8 +43,11 @@ public class PrologFactUpdater {
 
     final private PrologKnowledgeBaseHandler prologKnowledgeBaseHandler;
 
-    public PrologFactUpdater(PrologKnowledgeBaseHandler prologKnowledgeBaseHandler) {
+    final private PrologQueryEngine prologQueryEngine;
+
+    public PrologFactUpdater(PrologKnowledgeBaseHandler prologKnowledgeBaseHandler, PrologQueryEngine prologQueryEngine) {
         this.prologKnowledgeBaseHandler = prologKnowledgeBaseHandler;
+        this.prologQueryEngine = prologQueryEngine;
     }
 
     /**
@@ -63,6 +67,8 @@ public class PrologFactUpdater {
         } catch (IOException e) {
             LOG.error("Unable to store prolog file to add new facts after implementation insertion: {}", e.getMessage());
         }
+        prologQueryEngine.invalidateExecutability(implementation.getId());
+        prologQueryEngine.compileSelectionRule(implementation.getId(), implementation.getSelectionRule());
     }
 
     /**
@@ -116,7 +122,7 @@ public class PrologFactUpdater {
         LOG.debug("Handling update of implementation with Id {} in Prolog knowledge base.", implementation.getId());
 
         // deactivate and delete the Prolog file with the old facts
-        prologKnowledgeBaseHandler.deletePrologFile(implementation.toString());
+        prologKnowledgeBaseHandler.deletePrologFile(implementation.getId().toString());
 
         // create and activate the Prolog file with the new facts
         String prologContent = createImplementationFacts(implementation.getId(),
@@ -124,10 +130,12 @@ public class PrologFactUpdater {
                 implementation.getImplementedAlgorithm(),
                 implementation.getSelectionRule());
         try {
-            prologKnowledgeBaseHandler.persistPrologFile(prologContent, implementation.toString());
+            prologKnowledgeBaseHandler.persistPrologFile(prologContent, implementation.getId().toString());
         } catch (IOException e) {
             LOG.error("Unable to store prolog file to add new facts after implementation update: {}", e.getMessage());
         }
+        prologQueryEngine.invalidateExecutability(implementation.getId());
+        prologQueryEngine.compileSelectionRule(implementation.getId(), implementation.getSelectionRule());
     }
 
     /**
@@ -159,9 +167,10 @@ public class PrologFactUpdater {
      *
      * @param id the id of the implementation that is deleted from the repository
      */
-    public void handleImplementationDeletion(Long id) {
+    public void handleImplementationDeletion(UUID id) {
         LOG.debug("Handling deletion of implementation with Id {} in Prolog knowledge base.", id);
         prologKnowledgeBaseHandler.deletePrologFile(id.toString());
+        prologQueryEngine.invalidateExecutability(id);
     }
 
     /**
@@ -345,6 +354,7 @@ public class PrologFactUpdater {
      * @return the name of the predicate
      */
     private String getNameOfPredicate(String rule) {
-        return rule.split("\\(")[0];
+        String predicate = PrologUtility.getPredicateOfRule(rule);
+        return Objects.nonNull(predicate) ? predicate : rule.split("\\(")[0];
     }
 }
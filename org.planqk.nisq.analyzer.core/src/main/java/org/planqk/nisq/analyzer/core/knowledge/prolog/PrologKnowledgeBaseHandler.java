@@ -24,45 +24,138 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.jpl7.Atom;
 import org.jpl7.PrologException;
 import org.jpl7.Query;
+import org.jpl7.Term;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
  * Class to access and change the local Prolog knowledge base.
+ * <p>
+ * The knowledge base is divided into named scopes, e.g., one for each implementation, QPU, or SDK connector. Depending on the configured mode,
+ * the content of a scope is either written to a Prolog file and consulted, or asserted directly into the knowledge base without file I/O. The
+ * handler keeps track of the content hashes of all scopes, so that unchanged content is neither written nor loaded again.
+ * <p>
+ * All accesses to the knowledge base are routed through this handler. Changes of the knowledge base are performed exclusively, whereas queries
+ * are executed concurrently on a bounded number of Prolog engines.
  */
 @Service
 public class PrologKnowledgeBaseHandler {
 
     final private static Logger LOG = LoggerFactory.getLogger(PrologKnowledgeBaseHandler.class);
 
+    final private static String MEMORY_MODE = "memory";
+
+    // content hashes of the Prolog files in the knowledge base directory or the scopes asserted in memory
+    final private Map<String, String> persistedFiles = new ConcurrentHashMap<>();
+
+    // content hashes of the Prolog files at the time they were consulted
+    final private Map<String, String> activatedFiles = new ConcurrentHashMap<>();
+
+    // facts and rules are asserted directly instead of writing and consulting Prolog files
+    final private boolean memoryMode;
+
+    private volatile boolean memoryKnowledgeBaseInitialized = false;
+
+    // single writer (consult, unload, assert, retract) and multiple readers (queries) of the knowledge base
+    final private ReadWriteLock knowledgeBaseLock = new ReentrantReadWriteLock(true);
+
+    // limits the number of Prolog engines that are used concurrently
+    final private Semaphore engines;
+
+    public PrologKnowledgeBaseHandler(@Value("${org.planqk.nisq.analyzer.knowledge.mode:memory}") String mode,
+                                      @Value("${org.planqk.nisq.analyzer.knowledge.engines:4}") int engines) {
+        this.memoryMode = MEMORY_MODE.equalsIgnoreCase(mode.trim());
+        this.engines = new Semaphore(Math.max(1, engines), true);
+        LOG.info("Using {} mode for the Prolog knowledge base with {} engines.", memoryMode ? "memory" : "file", this.engines.availablePermits());
+    }
+
     /**
-     * Activate the prolog facts and rules contained in the given file
+     * Activate the prolog facts and rules contained in the given file, if the file was not yet activated or changed since its last activation
      *
      * @param fileName the name of the file containing the prolog facts and rules
      * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
      */
     public void activatePrologFile(String fileName) throws UnsatisfiedLinkError {
+        if (memoryMode) {
+            // content is asserted when persisting the scope
+            return;
+        }
+
+        if (isActivated(fileName)) {
+            LOG.trace("Prolog file {} is already activated in the knowledge base.", fileName);
+            return;
+        }
+
         String activateQuery = "consult('" + Constants.basePath + File.separator + fileName + ".pl').";
 
         // replace backslashes if running on windows as JPL cannot handle this
         activateQuery = activateQuery.replace("\\", "/");
 
-        // deactivate file in knowledge base
-        LOG.debug("Activation of file {} in knowledge base returned: {}", fileName, hasSolution(activateQuery));
+        knowledgeBaseLock.writeLock().lock();
+        try {
+            // file may have been activated by another thread in the meantime
+            if (isActivated(fileName)) {
+                return;
+            }
+
+            // activate file in knowledge base
+            String contentHash = getContentHash(fileName);
+            boolean activated = executeQuery(activateQuery);
+            LOG.debug("Activation of file {} in knowledge base returned: {}", fileName, activated);
+            if (activated && Objects.nonNull(contentHash)) {
+                activatedFiles.put(fileName, contentHash);
+            }
+        } finally {
+            knowledgeBaseLock.writeLock().unlock();
+        }
     }
 
     /**
-     * Write a Prolog file with the given content to the local directory
+     * Write a Prolog file with the given content to the local directory, or replace the facts and rules of the scope with the given name in
+     * memory mode
      *
      * @param content  the Prolog content to write to the file
      * @param fileName the name of the file to create
      * @throws IOException is thrown in case the writing fails
      */
     public void persistPrologFile(String content, String fileName) throws IOException {
+        String contentHash = DigestUtils.sha256Hex(content);
+        if (contentHash.equals(persistedFiles.get(fileName))) {
+            LOG.trace("Prolog file {} is already up to date.", fileName);
+            return;
+        }
+
+        knowledgeBaseLock.writeLock().lock();
+        try {
+            if (memoryMode) {
+                assertScope(content, fileName);
+                persistedFiles.put(fileName, contentHash);
+            } else {
+                writePrologFile(content, fileName, contentHash);
+            }
+        } finally {
+            knowledgeBaseLock.writeLock().unlock();
+        }
+    }
+
+    private void writePrologFile(String content, String fileName, String contentHash) throws IOException {
         File file = new File(Constants.basePath + File.separator + fileName + ".pl");
         file.deleteOnExit();
         try {
@@ -71,6 +164,7 @@ public class PrologKnowledgeBaseHandler {
             Writer writer = new BufferedWriter(new FileWriter(file));
             writer.write(content);
             writer.close();
+            persistedFiles.put(fileName, contentHash);
         } catch (IOException e) {
             throw new IOException("Could not write facts to prolog file: " + e.getMessage(), e);
         }
@@ -82,15 +176,31 @@ public class PrologKnowledgeBaseHandler {
      * @param fileName the name of the Prolog file
      */
     public void deletePrologFile(String fileName) {
+        knowledgeBaseLock.writeLock().lock();
+        try {
+            if (memoryMode) {
+                persistedFiles.remove(fileName);
+                retractScope(fileName);
+            } else {
+                unloadPrologFile(fileName);
+            }
+        } finally {
+            knowledgeBaseLock.writeLock().unlock();
+        }
+    }
+
+    private void unloadPrologFile(String fileName) {
         String deactivateQuery = "unload_file('" + Constants.basePath + File.separator + fileName + ".pl').";
 
         // replace backslashes if running on windows as JPL cannot handle this
         deactivateQuery = deactivateQuery.replace("\\", "/");
 
         // deactivate file in knowledge base
-        LOG.debug("Deactivation of file {} in knowledge base returned: {}", fileName, hasSolution(deactivateQuery));
+        LOG.debug("Deactivation of file {} in knowledge base returned: {}", fileName, executeQuery(deactivateQuery));
+        activatedFiles.remove(fileName);
 
         // delete the file
+        persistedFiles.remove(fileName);
         File file = new File(Constants.basePath + File.separator + fileName + ".pl");
         LOG.debug("Deleting prolog file successful: {}", file.delete());
     }
@@ -102,8 +212,7 @@ public class PrologKnowledgeBaseHandler {
      * @return <code>true</code> if the file exists, <code>false</code> otherwise
      */
     public boolean doesPrologFileExist(String fileName) {
-        File ruleFile = new File(Constants.basePath + File.separator + fileName + ".pl");
-        return ruleFile.exists();
+        return Objects.nonNull(getContentHash(fileName));
     }
 
     /**
@@ -114,6 +223,130 @@ public class PrologKnowledgeBaseHandler {
      * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
      */
     public boolean hasSolution(String queryContent) throws UnsatisfiedLinkError {
+        return read(() -> executeQuery(queryContent));
+    }
+
+    /**
+     * Execute a prolog query given as term and return the evaluation result as boolean
+     *
+     * @param goal the goal to evaluate
+     * @return <code>true</code> if there is a solution for the goal, <code>false</code> otherwise
+     * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
+     */
+    public boolean hasSolution(Term goal) throws UnsatisfiedLinkError {
+        return Boolean.TRUE.equals(evaluate(goal));
+    }
+
+    /**
+     * Execute a prolog query given as term and return the evaluation result, distinguishing goals without solution from failed evaluations
+     *
+     * @param goal the goal to evaluate
+     * @return <code>true</code> if there is a solution for the goal, <code>false</code> if there is none, or <code>null</code> if an error
+     * occurred
+     * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
+     */
+    public Boolean evaluate(Term goal) throws UnsatisfiedLinkError {
+        return read(() -> {
+            LOG.debug("Checking if solution for goal exists: {}", goal);
+            try {
+                return Query.hasSolution(goal);
+            } catch (PrologException e) {
+                LOG.warn("Prolog error while executing query. Procedure may not exist in knowledge base...");
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Execute a prolog query with variables and return all possible solutions
+     *
+     * @param queryContent the content of the query
+     * @return an array with a map for each solution containing the values of the query variables, or <code>null</code> if an error occurred
+     * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
+     */
+    public Map<String, Term>[] getSolutions(String queryContent) throws UnsatisfiedLinkError {
+        return getSolutions(() -> Query.allSolutions(queryContent), queryContent);
+    }
+
+    /**
+     * Execute a prolog query given as term with variables and return all possible solutions
+     *
+     * @param goal the goal to evaluate
+     * @return an array with a map for each solution containing the values of the goal variables, or <code>null</code> if an error occurred
+     * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
+     */
+    public Map<String, Term>[] getSolutions(Term goal) throws UnsatisfiedLinkError {
+        return getSolutions(() -> Query.allSolutions(goal), goal);
+    }
+
+    /**
+     * Execute a prolog query given as term with variables and pass each solution to the given consumer as soon as it is found. The consumer is
+     * called while the query is open and thus must not query the knowledge base itself.
+     *
+     * @param goal     the goal to evaluate
+     * @param consumer the consumer of the solutions, receiving a map with the values of the goal variables for each solution
+     * @return <code>true</code> if all solutions were retrieved, <code>false</code> if an error occurred
+     * @throws UnsatisfiedLinkError Is thrown if the jpl driver is not on the java class path
+     */
+    public boolean forEachSolution(Term goal, Consumer<Map<String, Term>> consumer) throws UnsatisfiedLinkError {
+        return read(() -> {
+            LOG.debug("Executing query with the following content to iterate over its solutions: {}", goal);
+            Query query = new Query(goal);
+            try {
+                while (query.hasMoreSolutions()) {
+                    consumer.accept(query.nextSolution());
+                }
+                return true;
+            } catch (PrologException e) {
+                LOG.warn("Prolog error while executing query. Procedure may not exist in knowledge base...");
+                return false;
+            } finally {
+                query.close();
+            }
+        });
+    }
+
+    private Map<String, Term>[] getSolutions(Supplier<Map<String, Term>[]> query, Object queryContent) {
+        return read(() -> {
+            LOG.debug("Executing query with the following content to retrieve solutions: {}", queryContent);
+            try {
+                Map<String, Term>[] solutions = query.get();
+                LOG.debug("Number of solutions: {}", solutions.length);
+                return solutions;
+            } catch (PrologException e) {
+                LOG.warn("Prolog error while executing query. Procedure may not exist in knowledge base...");
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Run the given query function while no changes of the knowledge base are performed and a Prolog engine is available
+     *
+     * @param query the function executing the query
+     * @return the result of the query
+     */
+    private <T> T read(Supplier<T> query) {
+        knowledgeBaseLock.readLock().lock();
+        try {
+            engines.acquireUninterruptibly();
+            try {
+                return query.get();
+            } finally {
+                engines.release();
+            }
+        } finally {
+            knowledgeBaseLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Execute a prolog query without acquiring the knowledge base lock, the caller is responsible for locking
+     *
+     * @param queryContent the content of the query
+     * @return <code>true</code> if there is a solution for the query, <code>false</code> otherwise
+     */
+    private boolean executeQuery(String queryContent) {
         LOG.debug("Checking if solution for query with the following content exists: {}", queryContent);
         try {
             return Query.hasSolution(queryContent);
@@ -122,4 +355,92 @@ public class PrologKnowledgeBaseHandler {
             return false;
         }
     }
+
+    /**
+     * Replace the facts and rules of the given scope by the facts and rules contained in the given Prolog content
+     *
+     * @param content the Prolog content to assert
+     * @param scope   the name of the scope
+     * @throws IOException is thrown in case the content can not be asserted
+     */
+    private void assertScope(String content, String scope) throws IOException {
+        initializeMemoryKnowledgeBase();
+        try {
+            Query.hasSolution("nisq_retract_scope(?)", new Term[] {new Atom(scope)});
+            if (!Query.hasSolution("nisq_assert_scope(?, ?)", new Term[] {new Atom(scope), new Atom(content)})) {
+                throw new IOException("Could not assert facts of scope " + scope);
+            }
+            LOG.debug("Asserted facts of scope {} in knowledge base.", scope);
+        } catch (PrologException e) {
+            // remove partially asserted facts
+            retractScope(scope);
+            throw new IOException("Could not assert facts of scope " + scope + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retract all facts and rules of the given scope from the knowledge base
+     *
+     * @param scope the name of the scope
+     */
+    private void retractScope(String scope) {
+        initializeMemoryKnowledgeBase();
+        try {
+            LOG.debug("Retraction of scope {} from knowledge base returned: {}", scope,
+                    Query.hasSolution("nisq_retract_scope(?)", new Term[] {new Atom(scope)}));
+        } catch (PrologException e) {
+            LOG.warn("Prolog error while retracting scope {}: {}", scope, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the predicates to manage the scopes of the in-memory knowledge base and declare the predicates used by the selection as dynamic
+     */
+    private synchronized void initializeMemoryKnowledgeBase() {
+        if (memoryKnowledgeBaseInitialized) {
+            return;
+        }
+        boolean loaded = Query.hasSolution("open_string(?, Stream), load_files(nisq_memory_knowledge_base, [stream(Stream)]), close(Stream)",
+                new Term[] {new Atom(Constants.MEMORY_KB_PROGRAM)});
+        LOG.debug("Initialization of in-memory knowledge base returned: {}", loaded);
+        memoryKnowledgeBaseInitialized = loaded;
+    }
+
+    /**
+     * Check if the Prolog file with the given name is activated with its current content
+     *
+     * @param fileName the name of the file
+     * @return <code>true</code> if the current content of the file is activated, <code>false</code> otherwise
+     */
+    private boolean isActivated(String fileName) {
+        String contentHash = getContentHash(fileName);
+        return Objects.nonNull(contentHash) && contentHash.equals(activatedFiles.get(fileName));
+    }
+
+    /**
+     * Get the hash of the content of the Prolog file with the given name. Files that were not persisted by this handler, e.g., by an earlier run
+     * of the application, are read once from the knowledge base directory.
+     *
+     * @param fileName the name of the file
+     * @return the hash of the file content, or <code>null</code> if the file does not exist
+     */
+    private String getContentHash(String fileName) {
+        String contentHash = persistedFiles.get(fileName);
+        if (Objects.nonNull(contentHash) || memoryMode) {
+            return contentHash;
+        }
+
+        File file = new File(Constants.basePath + File.separator + fileName + ".pl");
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            contentHash = DigestUtils.sha256Hex(FileUtils.readFileToString(file, StandardCharsets.UTF_8));
+            persistedFiles.putIfAbsent(fileName, contentHash);
+            return contentHash;
+        } catch (IOException e) {
+            LOG.warn("Unable to read Prolog file {}: {}", fileName, e.getMessage());
+            return null;
+        }
+    }
 }
@@ -21,70 +21,178 @@ package org.planqk.nisq.analyzer.core.knowledge.prolog;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
-import org.jpl7.PrologException;
-import org.jpl7.Query;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jpl7.Atom;
+import org.jpl7.Compound;
 import org.jpl7.Term;
+import org.jpl7.Util;
+import org.jpl7.Variable;
 import org.planqk.nisq.analyzer.core.model.AnalysisCandidate;
+import org.planqk.nisq.analyzer.core.model.QpuSuitabilityCheck;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 /**
- * Class to execute different kinds of required prolog queries.
+ * Class to execute different kinds of required prolog queries. All queries are executed through the {@link PrologKnowledgeBaseHandler}.
  */
 @Service
 public class PrologQueryEngine {
 
     final private static Logger LOG = LoggerFactory.getLogger(PrologQueryEngine.class);
 
+    // functor of the terms describing the checks of a batch suitability query
+    final private static String CANDIDATE = "candidate";
+
     final private PrologKnowledgeBaseHandler prologKnowledgeBaseHandler;
 
-    public PrologQueryEngine(PrologKnowledgeBaseHandler prologKnowledgeBaseHandler) {
+    // LRU cache for the evaluation results of selection rules, keyed by implementation id, rule hash, and sorted typed parameters
+    final private Map<List<Object>, Boolean> executabilityCache;
+
+    // selection rules parsed into templates by implementation id
+    final private Map<UUID, SelectionRuleTemplate> ruleTemplates = new ConcurrentHashMap<>();
+
+    final private Counter cacheHits;
+
+    final private Counter cacheMisses;
+
+    // durations of the Prolog queries per query type
+    final private Timer executabilityQueries;
+
+    final private Timer candidateQueries;
+
+    final private Timer suitabilityQueries;
+
+    final private Timer batchSuitabilityQueries;
+
+    public PrologQueryEngine(PrologKnowledgeBaseHandler prologKnowledgeBaseHandler,
+                             @Value("${org.planqk.nisq.analyzer.knowledge.executabilityCache.size:1000}") int cacheSize,
+                             MeterRegistry meterRegistry) {
         this.prologKnowledgeBaseHandler = prologKnowledgeBaseHandler;
+        this.executabilityCache = Collections.synchronizedMap(new LinkedHashMap<List<Object>, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.cacheHits = Counter.builder("nisq.prolog.executability.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("nisq.prolog.executability.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("nisq.prolog.executability.cache.size", executabilityCache, Map::size).register(meterRegistry);
+        this.executabilityQueries = Timer.builder("nisq.prolog.queries").tag("type", "executability").register(meterRegistry);
+        this.candidateQueries = Timer.builder("nisq.prolog.queries").tag("type", "candidates").register(meterRegistry);
+        this.suitabilityQueries = Timer.builder("nisq.prolog.queries").tag("type", "suitability").register(meterRegistry);
+        this.batchSuitabilityQueries = Timer.builder("nisq.prolog.queries").tag("type", "batch-suitability").register(meterRegistry);
     }
 
     /**
-     * Execute a prolog query with variables and return all possible solutions
+     * Evaluate the given prolog selection rule with the given set of parameters. The evaluation results are cached until the implementations
+     * change, whereas failed evaluations are not cached and are retried with the next check.
      *
-     * @param queryContent the content of the query
-     * @return an array with a map for each solution containing the values of the query variables, or <code>null</code>
-     * if an error occurred
+     * @param implementationId the id of the implementation the selection rule belongs to
+     * @param selectionRule    the prolog selection rule to evaluate to check the executability
+     * @param params           the set of parameters to use for the evaluation
+     * @return the evaluation result of the prolog rule
      */
-    private static Map<String, Term>[] getSolutions(String queryContent) {
-        LOG.debug("Executing query with the following content to retrieve solutions: {}", queryContent);
-        try {
-            Map<String, Term>[] solutions = Query.allSolutions(queryContent);
-            LOG.debug("Number of solutions: {}", solutions.length);
-            return solutions;
-        } catch (PrologException e) {
-            LOG.warn("Prolog error while executing query. Procedure may not exist in knowledge base...");
+    public boolean checkExecutability(UUID implementationId, String selectionRule, Map<String, String> params) {
+        SelectionRuleTemplate template = getSelectionRuleTemplate(implementationId, selectionRule);
+        if (Objects.isNull(template)) {
+            LOG.error("Unable to evaluate selection rule!");
+            return false;
+        }
+
+        List<Object> cacheKey = Arrays.asList(implementationId, template.getRuleHash(), new TreeMap<>(params));
+        Boolean cachedResult = executabilityCache.get(cacheKey);
+        if (Objects.nonNull(cachedResult)) {
+            cacheHits.increment();
+            LOG.debug("Using cached evaluation result for selection rule of implementation {}: {}", implementationId, cachedResult);
+            return cachedResult;
+        }
+        cacheMisses.increment();
+
+        Boolean evaluationResult = executabilityQueries.record(() -> evaluateSelectionRule(template, params));
+        if (Objects.isNull(evaluationResult)) {
+            return false;
+        }
+        executabilityCache.put(cacheKey, evaluationResult);
+        return evaluationResult;
+    }
+
+    /**
+     * Parse the selection rule of the given implementation into a template that is used for all following evaluations of the rule
+     *
+     * @param implementationId the id of the implementation the selection rule belongs to
+     * @param selectionRule    the prolog selection rule to parse
+     * @return the template of the selection rule, or <code>null</code> if the rule is invalid
+     */
+    public SelectionRuleTemplate compileSelectionRule(UUID implementationId, String selectionRule) {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile(selectionRule);
+        if (Objects.isNull(template)) {
+            ruleTemplates.remove(implementationId);
             return null;
         }
+
+        LOG.debug("Compiled selection rule of implementation {} with predicate {}/{}.", implementationId, template.getPredicate(),
+                template.getArity());
+        ruleTemplates.put(implementationId, template);
+        return template;
     }
 
     /**
-     * Evaluate the given prolog selection rule with the given set of parameters
+     * Remove all cached evaluation results of selection rules and the template of the selection rule of the given implementation. As the
+     * selection rules of different implementations can define the same predicate, a changed implementation can influence the evaluation
+     * results of all other implementations.
      *
-     * @param selectionRule the prolog selection rule to evaluate to check the executability
-     * @param params        the set of parameters to use for the evaluation
-     * @return the evaluation result of the prolog rule
+     * @param implementationId the id of the changed implementation
      */
+    public void invalidateExecutability(UUID implementationId) {
+        LOG.debug("Invalidating cached evaluation results of selection rules after change of implementation {}.", implementationId);
+        ruleTemplates.remove(implementationId);
+        executabilityCache.clear();
+    }
 
-    public boolean checkExecutability(String selectionRule, Map<String, String> params) {
-        String query = assembleQueryForRule(selectionRule, params, false);
-        if (Objects.isNull(query)) {
+    private SelectionRuleTemplate getSelectionRuleTemplate(UUID implementationId, String selectionRule) {
+        SelectionRuleTemplate template = ruleTemplates.get(implementationId);
+        if (Objects.nonNull(template) && template.getRule().equals(selectionRule)) {
+            return template;
+        }
+
+        // rule was not compiled yet, e.g., after a restart, or has changed since its compilation
+        return compileSelectionRule(implementationId, selectionRule);
+    }
+
+    /**
+     * Evaluate the selection rule of the given template in the knowledge base
+     *
+     * @return the evaluation result of the selection rule, or <code>null</code> if the rule could not be evaluated
+     */
+    private Boolean evaluateSelectionRule(SelectionRuleTemplate template, Map<String, String> params) {
+        Term goal = template.createGoal(params);
+        if (Objects.isNull(goal)) {
             LOG.error("Unable to evaluate selection rule!");
-            return false;
+            return null;
         }
 
         // evaluate the rule in the knowledge base
-        boolean evaluationResult = prologKnowledgeBaseHandler.hasSolution(query);
-        LOG.debug("Evaluated selection rule '{}' with result: {}", query, evaluationResult);
+        Boolean evaluationResult = prologKnowledgeBaseHandler.evaluate(goal);
+        LOG.debug("Evaluated selection rule '{}' with result: {}", goal, evaluationResult);
         return evaluationResult;
     }
 
@@ -99,25 +207,81 @@ public class PrologQueryEngine {
      */
     public boolean isQpuSuitable(UUID implementationId, UUID qpuId, int requiredQubits, int circuitDepth) {
 
-        // check if file with required rule exists and create otherwise
-        if (!prologKnowledgeBaseHandler.doesPrologFileExist(Constants.QPU_RULE_NAME)) {
-            try {
-                prologKnowledgeBaseHandler.persistPrologFile(Constants.QPU_RULE_CONTENT, Constants.QPU_RULE_NAME);
-            } catch (IOException e) {
-                LOG.error("Unable to persist prolog file with QPU selection rule. Unable to determine suitable QPUs!");
-                return false;
-            }
+        if (!activateQpuRule()) {
+            return false;
         }
-        prologKnowledgeBaseHandler.activatePrologFile(Constants.QPU_RULE_NAME);
-
 
         // determine the suited QPU for the implementation and the width/depth through the Prolog knowledge base
-        String query = "executableOnQpu(" + requiredQubits + "," + circuitDepth + ",'" + implementationId + "','" + qpuId + "').";
-        boolean evaluationResult = prologKnowledgeBaseHandler.hasSolution(query);
-        LOG.debug("Executing the following query to determine if the QPU is suitable: {} with result {}.", query, evaluationResult);
+        Term goal = executableOnQpu(new org.jpl7.Integer(requiredQubits), new org.jpl7.Integer(circuitDepth), toAtom(implementationId),
+                toAtom(qpuId));
+        boolean evaluationResult = suitabilityQueries.record(() -> prologKnowledgeBaseHandler.hasSolution(goal));
+        LOG.debug("Executing the following query to determine if the QPU is suitable: {} with result {}.", goal, evaluationResult);
         return evaluationResult;
     }
 
+    /**
+     * Check the prolog knowledge base with a single query which of the given implementations are executable on the corresponding QPUs.
+     * The checks are passed as list to one query over the executableOnQpu rule, instead of evaluating the rule separately for each check.
+     *
+     * @param checks the implementations, QPUs, and the width and depth of the transpiled circuits to check
+     * @return the subset of the given checks for which the implementation is executable on the QPU
+     */
+    public Set<QpuSuitabilityCheck> getSuitableQpus(List<QpuSuitabilityCheck> checks) {
+        Set<QpuSuitabilityCheck> suitableChecks = new HashSet<>();
+        getSuitableQpus(checks, index -> suitableChecks.add(checks.get(index)));
+        return suitableChecks;
+    }
+
+    /**
+     * Check the prolog knowledge base with a single query which of the given implementations are executable on the corresponding QPUs, and
+     * pass the index of each suitable check to the given handler as soon as it is found by the query. The handler is called while the query is
+     * open and thus must not query the knowledge base itself.
+     *
+     * @param checks               the implementations, QPUs, and the width and depth of the transpiled circuits to check
+     * @param suitableCheckHandler the handler receiving the index of each check for which the implementation is executable on the QPU
+     * @return <code>true</code> if all checks were evaluated, <code>false</code> if the query failed
+     */
+    public boolean getSuitableQpus(List<QpuSuitabilityCheck> checks, IntConsumer suitableCheckHandler) {
+        if (checks.isEmpty()) {
+            return true;
+        }
+        if (!activateQpuRule()) {
+            return false;
+        }
+
+        // checks are identified by their index in the list
+        Term[] candidates = new Term[checks.size()];
+        for (int i = 0; i < checks.size(); i++) {
+            QpuSuitabilityCheck check = checks.get(i);
+            candidates[i] = new Compound(CANDIDATE, new Term[] {new org.jpl7.Integer(i), new org.jpl7.Integer(check.getRequiredQubits()),
+                    new org.jpl7.Integer(check.getCircuitDepth()), toAtom(check.getImplementation()), toAtom(check.getQpu())});
+        }
+
+        // member(candidate(Index, Width, Depth, Impl, Qpu), Candidates), once(executableOnQpu(Width, Depth, Impl, Qpu)),
+        // i.e., one solution per suitable check in the order of the checks
+        String indexVariable = "Index";
+        Variable index = new Variable(indexVariable);
+        Variable width = new Variable("Width");
+        Variable depth = new Variable("Depth");
+        Variable implementation = new Variable("Impl");
+        Variable qpu = new Variable("Qpu");
+        Term candidate = new Compound(CANDIDATE, new Term[] {index, width, depth, implementation, qpu});
+        Term goal = new Compound(",", new Term[] {new Compound("member", new Term[] {candidate, Util.termArrayToList(candidates)}),
+                new Compound("once", new Term[] {executableOnQpu(width, depth, implementation, qpu)})});
+
+        AtomicInteger suitableChecks = new AtomicInteger();
+        boolean evaluated = batchSuitabilityQueries.record(() -> prologKnowledgeBaseHandler.forEachSolution(goal, solution -> {
+            suitableChecks.incrementAndGet();
+            suitableCheckHandler.accept(solution.get(indexVariable).intValue());
+        }));
+        if (!evaluated) {
+            LOG.error("Unable to determine suitable QPUs for {} checks.", checks.size());
+            return false;
+        }
+        LOG.debug("{} of {} checked QPUs are suitable for the corresponding implementation.", suitableChecks.get(), checks.size());
+        return true;
+    }
+
     /**
      * Check the prolog knowledge base for QPUs that can handle the given implementation and return them
      *
@@ -141,9 +305,10 @@ public class PrologQueryEngine {
         // determine the suited QPUs for the implementation and the width/depth through the Prolog knowledge base
         String qpuVariable = "Qpu";
         String connectorVariable = "Connector";
-        String query = "transpilableOnQpu('" + implementationId + "'," + qpuVariable + "," + connectorVariable + ").";
-        LOG.debug("Executing the following query to determine the suitable QPUs: {}", query);
-        Map<String, Term>[] solutions = getSolutions(query);
+        Term goal = new Compound(Constants.QPU_TRANSP_RULE_PREDICATE,
+                new Term[] {toAtom(implementationId), new Variable(qpuVariable), new Variable(connectorVariable)});
+        LOG.debug("Executing the following query to determine the suitable QPUs: {}", goal);
+        Map<String, Term>[] solutions = candidateQueries.record(() -> prologKnowledgeBaseHandler.getSolutions(goal));
 
         // parse Ids of suitable QPUs from response
         if (Objects.nonNull(solutions)) {
@@ -170,47 +335,40 @@ public class PrologQueryEngine {
     }
 
     /**
-     * Assemble a query to evaluate the given rule with the given set of parameters
+     * Activate the rule to check if an implementation is executable on a QPU, the file containing the rule is created if it does not exist
      *
-     * @param rule      the rule to evaluate
-     * @param params    the set of parameters to insert for the evaluation
-     * @param skipFirst <code>true</code> if the first variable in the rule should not be replaced, <code>false</code>
-     *                  otherwise
-     * @return the query or <code>null</code> if the rule or parameters are invalid
+     * @return <code>true</code> if the rule is available in the knowledge base, <code>false</code> otherwise
      */
-    private String assembleQueryForRule(String rule, Map<String, String> params, boolean skipFirst) {
-        // retrieve signature of the defined selection rule
-        String signature = PrologUtility.getSignatureOfRule(rule);
-        String[] signatureParts = signature.split("\\(");
-
-        // rule is invalid as it does not contain brackets for the parameters
-        if (signatureParts.length < 2) {
-            LOG.error("Signature of rule is invalid: {}", signature);
-            return null;
-        }
-
-        String ruleName = signatureParts[0];
-        String parameterPart = signatureParts[1];
-
-        List<String> variables = PrologUtility.getVariablesForPrologRule(rule);
-        for (int i = 0; i < variables.size(); i++) {
-            // do not replace the first variable if it is used for the evaluation of the rule
-            if (skipFirst && i == 0) {
-                continue;
-            }
-
-            // replace the variable in the signature if parameter is available
-            String variable = variables.get(i);
-            if (!params.containsKey(variable)) {
-                LOG.error("Given parameter set to evaluate rule does not contain required parameter: {}", variable);
-                return null;
+    private boolean activateQpuRule() {
+        if (!prologKnowledgeBaseHandler.doesPrologFileExist(Constants.QPU_RULE_NAME)) {
+            try {
+                prologKnowledgeBaseHandler.persistPrologFile(Constants.QPU_RULE_CONTENT, Constants.QPU_RULE_NAME);
+            } catch (IOException e) {
+                LOG.error("Unable to persist prolog file with QPU selection rule. Unable to determine suitable QPUs!");
+                return false;
             }
-
-            // FIXME: avoid replacing parts of another variable where the name contains the searched variable, e.g., search for variable 'A' and replace part of variable 'AB' by accident
-            parameterPart = parameterPart.replaceFirst(variable, params.get(variable));
         }
+        prologKnowledgeBaseHandler.activatePrologFile(Constants.QPU_RULE_NAME);
+        return true;
+    }
 
-        // add point to instruct prolog to evaluate the rule
-        return ruleName + "(" + parameterPart + ".";
+    /**
+     * Create the goal to check if an implementation with the given width and depth is executable on a QPU
+     *
+     * @param requiredQubits the term of the number of qubits that are required for the execution
+     * @param circuitDepth   the term of the depth of the circuit representation of the implementation
+     * @param implementation the term of the id of the implementation
+     * @param qpu            the term of the id of the QPU
+     * @return the goal to evaluate
+     */
+    private static Term executableOnQpu(Term requiredQubits, Term circuitDepth, Term implementation, Term qpu) {
+        return new Compound(Constants.QPU_RULE_PREDICATE, new Term[] {requiredQubits, circuitDepth, implementation, qpu});
+    }
+
+    /**
+     * Ids are stored as quoted atoms in the knowledge base, so the atom is created directly from the id instead of quoting it in a query
+     */
+    private static Atom toAtom(UUID id) {
+        return new Atom(id.toString());
     }
-}
\ No newline at end of file
+}
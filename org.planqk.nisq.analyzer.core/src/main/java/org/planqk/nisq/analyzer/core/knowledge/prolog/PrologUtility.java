@@ -19,14 +19,18 @@
 
 package org.planqk.nisq.analyzer.core.knowledge.prolog;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import org.jpl7.Atom;
+import org.jpl7.Term;
+import org.jpl7.Util;
 import org.planqk.nisq.analyzer.core.model.DataType;
 import org.planqk.nisq.analyzer.core.model.Parameter;
 import org.slf4j.Logger;
@@ -39,6 +43,15 @@ public class PrologUtility {
 
     final private static Logger LOG = LoggerFactory.getLogger(PrologUtility.class);
 
+    final private static Pattern PREDICATE_NAME = Pattern.compile("[a-z][a-zA-Z0-9_]*");
+
+    final private static Pattern INTEGER_LITERAL = Pattern.compile("-?\\d+");
+
+    final private static Pattern FLOAT_LITERAL = Pattern.compile("-?\\d+\\.\\d+([eE][+-]?\\d+)?");
+
+    // quoted atom in which quotes are only contained as escaped quotes ('')
+    final private static Pattern QUOTED_ATOM_LITERAL = Pattern.compile("'([^']|'')*'");
+
     /**
      * Get the set of parameters that are required to evaluate the given rule
      *
@@ -85,21 +98,16 @@ public class PrologUtility {
     public static List<String> getVariablesForPrologRule(String rule) {
         LOG.debug("Getting parameters for rule: {}", rule);
 
-        // get String part between the brackets
-        String[] ruleParts = rule.split("\\(");
-
         // rule is invalid as it does not contain brackets for the parameters
-        if (ruleParts.length < 2) {
+        List<String> arguments = getArgumentsOfRule(rule);
+        if (Objects.isNull(arguments)) {
             return new ArrayList<>();
         }
+        LOG.debug("Rule contains {} parameters.", arguments.size());
 
-        // get the set of parameters
-        String parametersPart = ruleParts[1].split("\\)")[0];
-        String[] params = parametersPart.split(",");
-        LOG.debug("Rule contains {} parameters.", params.length);
-
-        return Arrays.stream(params)
-                .map(parameter -> parameter.replaceAll("\\s", ""))
+        return arguments.stream()
+                .map(argument -> argument.replaceAll("\\s", ""))
+                .filter(argument -> !argument.isEmpty())
                 .filter(PrologUtility::isVariable)
                 .collect(Collectors.toList());
     }
@@ -111,16 +119,134 @@ public class PrologUtility {
      * @return the number of available parameters
      */
     public static int getNumberOfParameters(String rule) {
-        // get String part between the brackets
-        String[] ruleParts = rule.split("\\(");
+        List<String> arguments = getArgumentsOfRule(rule);
 
         // rule is invalid as it does not contain brackets for the parameters
-        if (ruleParts.length < 2) {
-            return 0;
+        return Objects.isNull(arguments) ? 0 : arguments.size();
+    }
+
+    /**
+     * Get the name of the predicate that is defined by the given rule
+     *
+     * @param rule the rule to get the predicate name from
+     * @return the name of the predicate, or <code>null</code> if the head of the rule does not start with a valid predicate name
+     */
+    public static String getPredicateOfRule(String rule) {
+        int argumentsStart = rule.indexOf('(');
+        if (argumentsStart < 0) {
+            return null;
+        }
+
+        String predicate = rule.substring(0, argumentsStart).trim();
+        return PREDICATE_NAME.matcher(predicate).matches() ? predicate : null;
+    }
+
+    /**
+     * Get the ordered arguments of the head of the given rule. Commas within quoted atoms, lists, and compound terms do not separate
+     * arguments.
+     *
+     * @param rule the rule to get the arguments from
+     * @return the list of arguments without surrounding whitespace, or <code>null</code> if the head of the rule has no valid argument list
+     */
+    public static List<String> getArgumentsOfRule(String rule) {
+        if (Objects.isNull(getPredicateOfRule(rule))) {
+            return null;
+        }
+
+        List<String> arguments = new ArrayList<>();
+        StringBuilder argument = new StringBuilder();
+        boolean quoted = false;
+        int depth = 0;
+        for (int i = rule.indexOf('(') + 1; i < rule.length(); i++) {
+            char character = rule.charAt(i);
+            if (quoted) {
+                // escaped quotes ('') end and restart the quoted atom
+                quoted = character != '\'';
+            } else if (character == '\'') {
+                quoted = true;
+            } else if (character == '(' || character == '[') {
+                depth++;
+            } else if ((character == ')' || character == ']') && depth > 0) {
+                depth--;
+            } else if (character == ')' || (character == ',' && depth == 0)) {
+                arguments.add(argument.toString().trim());
+                if (character == ')') {
+                    return arguments;
+                }
+                argument.setLength(0);
+                continue;
+            }
+            argument.append(character);
         }
 
-        String parametersPart = rule.split("\\)")[0];
-        return parametersPart.split(",").length;
+        // argument list is not closed
+        return null;
+    }
+
+    /**
+     * Create the JPL term for the given Prolog literal. Only numbers, atoms, and lists of such literals are supported, which are all created
+     * directly without parsing them by Prolog. Variables and compound terms are rejected, as they would change the meaning of a goal.
+     *
+     * @param literal the literal to create the term for, e.g., <code>15</code>, <code>'value'</code>, or <code>[1, two]</code>
+     * @return the term representing the literal
+     * @throws IllegalArgumentException if the literal is empty, not closed, or no number, atom, or list
+     */
+    public static Term toTerm(String literal) {
+        String value = literal.trim();
+        if (INTEGER_LITERAL.matcher(value).matches()) {
+            BigInteger integer = new BigInteger(value);
+            return integer.bitLength() < Long.SIZE ? new org.jpl7.Integer(integer.longValue()) : new org.jpl7.Integer(integer);
+        }
+        if (FLOAT_LITERAL.matcher(value).matches()) {
+            return new org.jpl7.Float(Double.parseDouble(value));
+        }
+        if (QUOTED_ATOM_LITERAL.matcher(value).matches()) {
+            return new Atom(value.substring(1, value.length() - 1).replace("''", "'"));
+        }
+        if (PREDICATE_NAME.matcher(value).matches()) {
+            return new Atom(value);
+        }
+        if (value.length() > 1 && value.startsWith("[") && value.endsWith("]")) {
+            List<String> elements = splitListElements(value.substring(1, value.length() - 1));
+            if (Objects.nonNull(elements)) {
+                return Util.termArrayToList(elements.stream().map(PrologUtility::toTerm).toArray(Term[]::new));
+            }
+        }
+        throw new IllegalArgumentException("Unsupported Prolog literal: " + literal);
+    }
+
+    /**
+     * Split the given content of a list literal into its elements. Commas within quoted atoms and nested lists do not separate elements.
+     *
+     * @return the elements of the list, or <code>null</code> if a quoted atom or nested list is not closed
+     */
+    private static List<String> splitListElements(String content) {
+        List<String> elements = new ArrayList<>();
+        if (content.trim().isEmpty()) {
+            return elements;
+        }
+
+        StringBuilder element = new StringBuilder();
+        boolean quoted = false;
+        int depth = 0;
+        for (char character : content.toCharArray()) {
+            if (quoted) {
+                quoted = character != '\'';
+            } else if (character == '\'') {
+                quoted = true;
+            } else if (character == '[') {
+                depth++;
+            } else if (character == ']' && --depth < 0) {
+                return null;
+            } else if (character == ',' && depth == 0) {
+                elements.add(element.toString());
+                element.setLength(0);
+                continue;
+            }
+            element.append(character);
+        }
+        elements.add(element.toString());
+        return quoted || depth != 0 ? null : elements;
     }
 
     /**
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.knowledge.prolog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.Getter;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jpl7.Compound;
+import org.jpl7.Term;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Selection rule of an implementation that is parsed once into the name and the ordered arguments of the defined predicate. The goals to
+ * evaluate the rule are created as JPL terms by binding the variables of the rule to the given parameters, so that neither the rule nor the
+ * parameters have to be parsed by Prolog for each evaluation. Thus, parameters and constant arguments are restricted to numbers, atoms, and
+ * lists of them.
+ */
+public class SelectionRuleTemplate {
+
+    final private static Logger LOG = LoggerFactory.getLogger(SelectionRuleTemplate.class);
+
+    @Getter
+    final private String rule;
+
+    @Getter
+    final private String ruleHash;
+
+    @Getter
+    final private String predicate;
+
+    // names of the variables for the slots that are bound to parameters, null for constant arguments
+    final private String[] variables;
+
+    // terms of the constant arguments, null for the slots of variables
+    final private Term[] constants;
+
+    private SelectionRuleTemplate(String rule, String predicate, String[] variables, Term[] constants) {
+        this.rule = rule;
+        this.ruleHash = DigestUtils.sha256Hex(rule);
+        this.predicate = predicate;
+        this.variables = variables;
+        this.constants = constants;
+    }
+
+    /**
+     * Parse the given selection rule into a template
+     *
+     * @param rule the selection rule to parse
+     * @return the template of the rule, or <code>null</code> if the rule is invalid
+     */
+    public static SelectionRuleTemplate compile(String rule) {
+        if (Objects.isNull(rule)) {
+            return null;
+        }
+
+        String predicate = PrologUtility.getPredicateOfRule(rule);
+        List<String> arguments = PrologUtility.getArgumentsOfRule(rule);
+        if (Objects.isNull(predicate) || Objects.isNull(arguments) || arguments.contains("")) {
+            LOG.error("Signature of rule is invalid: {}", rule);
+            return null;
+        }
+
+        String[] variables = new String[arguments.size()];
+        Term[] constants = new Term[arguments.size()];
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = arguments.get(i);
+            if (PrologUtility.isVariable(argument)) {
+                variables[i] = argument;
+            } else {
+                try {
+                    constants[i] = PrologUtility.toTerm(argument);
+                } catch (RuntimeException e) {
+                    LOG.error("Unable to parse argument {} of rule {}: {}", argument, rule, e.getMessage());
+                    return null;
+                }
+            }
+        }
+        return new SelectionRuleTemplate(rule, predicate, variables, constants);
+    }
+
+    /**
+     * @return the number of arguments of the defined predicate
+     */
+    public int getArity() {
+        return variables.length;
+    }
+
+    /**
+     * @return the ordered list of variables that have to be bound to parameters to evaluate the rule
+     */
+    public List<String> getVariables() {
+        List<String> result = new ArrayList<>();
+        for (String variable : variables) {
+            if (Objects.nonNull(variable)) {
+                result.add(variable);
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Create the goal to evaluate the rule with the given parameters
+     *
+     * @param params the Prolog literals of the parameters by variable name, e.g., <code>15</code> or <code>'value'</code>
+     * @return the goal, or <code>null</code> if a required parameter is missing or invalid
+     */
+    public Term createGoal(Map<String, String> params) {
+        Term[] arguments = new Term[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            if (Objects.isNull(variables[i])) {
+                arguments[i] = constants[i];
+                continue;
+            }
+
+            String value = params.get(variables[i]);
+            if (Objects.isNull(value)) {
+                LOG.error("Given parameter set to evaluate rule does not contain required parameter: {}", variables[i]);
+                return null;
+            }
+            try {
+                arguments[i] = PrologUtility.toTerm(value);
+            } catch (RuntimeException e) {
+                LOG.error("Unable to parse value of parameter {}: {}", variables[i], e.getMessage());
+                return null;
+            }
+        }
+        return new Compound(predicate, arguments);
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.UUID;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
@@ -51,6 +52,10 @@ public class AnalysisJob extends HasId {
 
     private boolean ready;
 
+    // true if the job was aborted by an unexpected error, the job is then also ready
+    @Column(columnDefinition = "boolean default false")
+    private boolean failed;
+
     @OneToMany(cascade = CascadeType.PERSIST)
     private List<AnalysisResult> jobResults = new ArrayList<>();
 
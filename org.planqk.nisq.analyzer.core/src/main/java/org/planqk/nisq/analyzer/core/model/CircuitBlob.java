@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Object to store a quantum circuit, e.g., the initial or transpiled circuit of a compilation result, in a separate table. Circuits are
+ * identified by the SHA-256 hash of their content, so that equal circuits of different results are only stored once.
+ */
+@EqualsAndHashCode(of = "hash")
+@ToString(exclude = "content")
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBlob {
+
+    // SHA-256 hash of the uncompressed circuit
+    @Id
+    private String hash;
+
+    @Enumerated(EnumType.STRING)
+    private CircuitCompression compression;
+
+    // size of the uncompressed circuit in bytes
+    private long size;
+
+    @Column(nullable = false)
+    private byte[] content;
+
+    /**
+     * Open a stream to read the uncompressed circuit
+     *
+     * @return the stream containing the UTF-8 encoded circuit
+     * @throws IOException if the stored content can not be decompressed
+     */
+    public InputStream openStream() throws IOException {
+        InputStream in = new ByteArrayInputStream(content);
+        return compression == CircuitCompression.GZIP ? new GZIPInputStream(in) : in;
+    }
+
+    /**
+     * Get the uncompressed circuit
+     *
+     * @return the circuit as string
+     */
+    public String getCircuit() {
+        try (InputStream in = openStream()) {
+            return IOUtils.toString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decompress circuit with hash " + hash, e);
+        }
+    }
+
+    /**
+     * Get the uncompressed circuit of the given blob
+     *
+     * @param blob the blob to get the circuit for or null
+     * @return the circuit as string or null if no blob is given
+     */
+    public static String toCircuit(CircuitBlob blob) {
+        return Objects.nonNull(blob) ? blob.getCircuit() : null;
+    }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.Getter;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Immutable in-memory representation of a quantum circuit passed to the NISQ Analyzer.
+ * <p>
+ * The circuit is read once when the request is received and then passed by reference through the control service, the translator, and
+ * the connectors. The content hash is computed on creation and can be used as cache key by all components.
+ */
+public class CircuitPayload {
+
+    final private byte[] content;
+
+    @Getter
+    final private String language;
+
+    @Getter
+    final private String hash;
+
+    private CircuitPayload(byte[] content, String language) {
+        this.content = content;
+        this.language = language;
+        this.hash = DigestUtils.sha256Hex(content);
+    }
+
+    /**
+     * Create a payload for the given circuit bytes. The bytes are not copied and must not be modified afterwards.
+     *
+     * @param content  the UTF-8 encoded circuit
+     * @param language the language of the circuit
+     * @return the payload containing the circuit
+     */
+    public static CircuitPayload of(byte[] content, String language) {
+        return new CircuitPayload(content, language);
+    }
+
+    /**
+     * Create a payload for the given circuit
+     *
+     * @param content  the circuit
+     * @param language the language of the circuit
+     * @return the payload containing the circuit
+     */
+    public static CircuitPayload of(String content, String language) {
+        return new CircuitPayload(content.getBytes(StandardCharsets.UTF_8), language);
+    }
+
+    /**
+     * @return the size of the circuit in bytes
+     */
+    public int getSize() {
+        return content.length;
+    }
+
+    /**
+     * @return a copy of the UTF-8 encoded circuit
+     */
+    public byte[] getBytes() {
+        return content.clone();
+    }
+
+    /**
+     * @return the circuit as string
+     */
+    public String getContent() {
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the Base64 encoded circuit as required by the SDK services
+     */
+    public String getBase64Content() {
+        return Base64.getEncoder().encodeToString(content);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitPayload(language=%s, hash=%s, size=%d)", language, hash, content.length);
+    }
+}
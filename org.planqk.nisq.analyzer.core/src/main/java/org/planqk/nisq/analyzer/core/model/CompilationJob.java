@@ -22,6 +22,7 @@ package org.planqk.nisq.analyzer.core.model;
 import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
@@ -42,6 +43,10 @@ public class CompilationJob extends HasId {
 
     private boolean ready;
 
+    // true if the job was aborted by an unexpected error, the job is then also ready
+    @Column(columnDefinition = "boolean default false")
+    private boolean failed;
+
     @OneToMany(cascade = CascadeType.PERSIST)
     private List<CompilationResult> jobResults = new ArrayList<>();
 }
@@ -22,12 +22,14 @@ package org.planqk.nisq.analyzer.core.model;
 import java.time.OffsetDateTime;
 
 import javax.persistence.Entity;
-import javax.persistence.Lob;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToOne;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Object to represent the result of a compilation for a certain qpu and circuit
@@ -51,11 +53,15 @@ public class CompilationResult extends HasId {
 
     private String circuitName;
 
-    @Lob
-    private String initialCircuit;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBlob initialCircuit;
 
-    @Lob
-    private String transpiledCircuit;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBlob transpiledCircuit;
 
     private String transpiledLanguage;
 
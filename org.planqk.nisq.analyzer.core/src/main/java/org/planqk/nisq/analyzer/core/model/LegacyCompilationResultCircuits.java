@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.model;
+
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * View of the table of the {@link CompilationResult}s containing the LOB columns in which the circuits were stored before they were moved to
+ * the {@link CircuitBlob} table. Only used to migrate the circuits of existing results.
+ */
+@Entity
+@Table(name = "compilation_result")
+@Getter
+@Setter
+@NoArgsConstructor
+public class LegacyCompilationResultCircuits {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Lob
+    @Column(name = "initial_circuit")
+    private String initialCircuit;
+
+    @Lob
+    @Column(name = "transpiled_circuit")
+    private String transpiledCircuit;
+
+    @Column(name = "initial_circuit_hash")
+    private String initialCircuitHash;
+
+    @Column(name = "transpiled_circuit_hash")
+    private String transpiledCircuitHash;
+}
@@ -23,6 +23,7 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.CascadeType;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.OneToMany;
 
@@ -43,6 +44,10 @@ public class QpuSelectionJob extends HasId {
 
     private boolean ready;
 
+    // true if the job was aborted by an unexpected error, the job is then also ready
+    @Column(columnDefinition = "boolean default false")
+    private boolean failed;
+
     private OffsetDateTime time;
 
     private String circuitName;
@@ -21,12 +21,14 @@ package org.planqk.nisq.analyzer.core.model;
 
 import java.time.OffsetDateTime;
 import javax.persistence.Entity;
-import javax.persistence.Lob;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToOne;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Object to represent the result of a QPU selection job for a certain quantum circuit
@@ -48,8 +50,10 @@ public class QpuSelectionResult extends HasId {
 
     private String circuitName;
 
-    @Lob
-    private String transpiledCircuit;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CircuitBlob transpiledCircuit;
 
     private String transpiledLanguage;
 
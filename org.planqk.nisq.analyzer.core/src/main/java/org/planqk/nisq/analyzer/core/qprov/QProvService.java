@@ -20,67 +20,255 @@
 package org.planqk.nisq.analyzer.core.qprov;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
 import org.planqk.nisq.analyzer.core.model.Provider;
 import org.planqk.nisq.analyzer.core.model.Qpu;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ProviderListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.QpuDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.QpuListDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Service to retrieve the providers and QPUs from QProv. The retrieved data is cached for a configurable time. After this time, the cached data is
+ * still returned while it is refreshed in the background, until the maximum staleness is reached and the data is reloaded synchronously.
+ */
 @Service
 public class QProvService {
 
+    final private static Logger LOG = LoggerFactory.getLogger(QProvService.class);
+
+    final private static String PROVIDERS_KEY = "providers";
+
+    // name of the backend to retrieve the configured HTTP timeouts
+    final private static String BACKEND_NAME = "qprov";
+
     // API Endpoints
     private String baseAPIEndpoint;
 
+    // time in milliseconds after which cached data is refreshed in the background
+    final private long timeToLive;
+
+    // time in milliseconds after which cached data is no longer returned
+    final private long maxStaleness;
+
+    final private CacheEntry<List<Provider>> providerCache = new CacheEntry<>();
+
+    final private Map<UUID, CacheEntry<List<Qpu>>> qpuCache = new ConcurrentHashMap<>();
+
+    // index from the provider name to the corresponding provider, replaced on each refresh of the providers
+    private volatile Map<String, Provider> providersByName = Collections.emptyMap();
+
+    // index from the provider name to the QPUs of the provider by their name, the QPUs of a provider are replaced on each refresh of its
+    // QPUs and providers that no longer exist are removed on each refresh of the providers
+    final private Map<String, Map<String, Qpu>> qpusByName = new ConcurrentHashMap<>();
+
+    // keys of the cache entries that are currently refreshed in the background
+    final private Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    final private ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "qprov-cache-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    final private Counter cacheHits;
+
+    final private Counter cacheMisses;
+
+    final private MeterRegistry meterRegistry;
+
+    final private RestTemplate restTemplate;
+
     public QProvService(
             @Value("${org.planqk.nisq.analyzer.qprov.hostname}") String hostname,
-            @Value("${org.planqk.nisq.analyzer.qprov.port}") int port
+            @Value("${org.planqk.nisq.analyzer.qprov.port}") int port,
+            @Value("${org.planqk.nisq.analyzer.qprov.cache.ttl:60}") long timeToLive,
+            @Value("${org.planqk.nisq.analyzer.qprov.cache.maxStaleness:600}") long maxStaleness,
+            MeterRegistry meterRegistry,
+            HttpClientService httpClientService
     ) {
         this.baseAPIEndpoint = String.format("http://%s:%d/qprov/", hostname, port);
+        this.timeToLive = TimeUnit.SECONDS.toMillis(timeToLive);
+        this.maxStaleness = TimeUnit.SECONDS.toMillis(Math.max(timeToLive, maxStaleness));
+        this.cacheHits = Counter.builder("nisq.qprov.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("nisq.qprov.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.restTemplate = httpClientService.getRestTemplate(BACKEND_NAME);
     }
 
     public List<Provider> getProviders() {
+        List<Provider> providers = getCached(providerCache, PROVIDERS_KEY, () -> recordRequest("providers", this::loadProviders));
+        return Objects.nonNull(providers) ? providers : new ArrayList<>();
+    }
+
+    public List<Qpu> getQPUs(Provider provider) {
+        CacheEntry<List<Qpu>> entry = qpuCache.computeIfAbsent(provider.getId(), id -> new CacheEntry<>());
+        return getCached(entry, provider.getId(), () -> recordRequest("qpus", () -> loadQPUs(provider)));
+    }
+
+    public Optional<Qpu> getQpuByName(String name, String provider) {
+        // refresh the providers and the index if required
+        getProviders();
+        Provider prov = providersByName.get(provider);
+        if (Objects.isNull(prov)) {
+            return Optional.empty();
+        }
+
+        // refresh the QPUs and the index if required
+        getQPUs(prov);
+        return Optional.ofNullable(qpusByName.getOrDefault(prov.getName(), Collections.emptyMap()).get(name));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Get the value of the given cache entry and (re)load it if the cached value is missing or outdated
+     */
+    private <T> T getCached(CacheEntry<T> entry, Object key, Supplier<T> loader) {
+        long age = System.currentTimeMillis() - entry.loadedAt;
+        if (Objects.nonNull(entry.value) && age < timeToLive) {
+            cacheHits.increment();
+            return entry.value;
+        }
+
+        if (Objects.nonNull(entry.value) && age < maxStaleness) {
+            // serve stale value and trigger refresh in the background
+            cacheHits.increment();
+            if (refreshing.add(key)) {
+                LOG.debug("Refreshing cached QProv data for key '{}' in the background.", key);
+                refreshExecutor.execute(() -> {
+                    try {
+                        entry.update(loader.get());
+                    } catch (RestClientException e) {
+                        LOG.warn("Background refresh of QProv data for key '{}' failed: {}", key, e.getMessage());
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                });
+            }
+            return entry.value;
+        }
+
+        cacheMisses.increment();
+        T value = loader.get();
+        entry.update(value);
+        return value;
+    }
+
+    /**
+     * Perform the given request against QProv and record its duration and outcome
+     */
+    private <T> T recordRequest(String operation, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = request.get();
+            outcome = Objects.nonNull(result) ? "success" : "error";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("nisq.qprov.requests").tag("operation", operation).tag("outcome", outcome).register(meterRegistry));
+        }
+    }
+
+    /**
+     * Load the providers from QProv and update the provider index
+     *
+     * @return the list of providers or <code>null</code> if they can not be retrieved
+     */
+    private List<Provider> loadProviders() {
 
         // Query the QProv API for providers
-        RestTemplate restTemplate = new RestTemplate();
         try {
             ProviderListDto result = restTemplate.getForObject(this.baseAPIEndpoint + "providers", ProviderListDto.class);
 
             if (result != null) {
-                return ProviderListDto.Converter.convert(result);
+                List<Provider> providers = Collections.unmodifiableList(ProviderListDto.Converter.convert(result));
+                updateIndex(providers);
+                return providers;
             } else {
-                return new ArrayList<>();
+                return null;
             }
         } catch (RestClientException e) {
-            return new ArrayList<>();
+            LOG.warn("Unable to retrieve providers from QProv: {}", e.getMessage());
+            return null;
         }
     }
 
-    public List<Qpu> getQPUs(Provider provider) {
+    /**
+     * Replace the provider index by an index of the given providers and remove the QPUs of providers that no longer exist
+     *
+     * @param providers the providers currently available in QProv
+     */
+    private void updateIndex(List<Provider> providers) {
+        Map<String, Provider> newProvidersByName = providers.stream()
+                .collect(Collectors.toMap(Provider::getName, provider -> provider, (first, second) -> first));
+        providersByName = Collections.unmodifiableMap(newProvidersByName);
+
+        // the QPU index is updated in place, so that concurrently loaded QPUs of other providers are not lost
+        qpusByName.keySet().retainAll(newProvidersByName.keySet());
+        qpuCache.keySet().retainAll(providers.stream().map(Provider::getId).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Load the QPUs of the given provider from QProv and update the QPU index
+     *
+     * @param provider the provider to retrieve the QPUs for
+     * @return the list of QPUs
+     */
+    private List<Qpu> loadQPUs(Provider provider) {
 
-        RestTemplate restTemplate = new RestTemplate();
 
         // ToDo: Implement proper QPU List class
         QpuListDto qpuListDto =
                 restTemplate.getForObject(String.format(this.baseAPIEndpoint + "/providers/%s/qpus", provider.getId()), QpuListDto.class);
 
-        return qpuListDto.getQpuDtoList().stream().map(dto -> QpuDto.Converter.convert(dto, provider.getName())).collect(Collectors.toList());
+        List<Qpu> qpus = Collections.unmodifiableList(
+                qpuListDto.getQpuDtoList().stream().map(dto -> QpuDto.Converter.convert(dto, provider.getName())).collect(Collectors.toList()));
+        qpusByName.put(provider.getName(), qpus.stream().collect(Collectors.toMap(Qpu::getName, qpu -> qpu, (first, second) -> first)));
+        return qpus;
     }
 
-    public Optional<Qpu> getQpuByName(String name, String provider) {
-        Optional<Provider> prov = getProviders().stream().filter(p -> p.getName().equals(provider)).findFirst();
-        if (prov.isPresent()) {
-            return getQPUs(prov.get()).stream().filter(q -> q.getName().equals(name)).findFirst();
-        } else {
-            return Optional.empty();
+    /**
+     * Cached value with the time it was loaded
+     */
+    private static class CacheEntry<T> {
+
+        private volatile T value;
+
+        private volatile long loadedAt;
+
+        private void update(T value) {
+            if (Objects.nonNull(value)) {
+                this.value = value;
+                this.loadedAt = System.currentTimeMillis();
+            }
         }
     }
 }
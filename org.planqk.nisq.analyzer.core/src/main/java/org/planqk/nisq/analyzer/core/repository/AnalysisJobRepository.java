@@ -19,10 +19,13 @@
 
 package org.planqk.nisq.analyzer.core.repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
@@ -30,4 +33,6 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 @RepositoryRestResource(exported = false)
 public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, UUID> {
     List<AnalysisJob> findByImplementedAlgorithm(UUID implementedAlgorithm, Sort sort);
+
+    Page<AnalysisJob> findByTimeBetween(OffsetDateTime from, OffsetDateTime to, Pageable pageable);
 }
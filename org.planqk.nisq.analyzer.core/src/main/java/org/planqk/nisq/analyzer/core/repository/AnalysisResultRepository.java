@@ -24,6 +24,7 @@ import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.AnalysisResult;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
@@ -33,5 +34,7 @@ import org.springframework.data.rest.core.annotation.RepositoryRestResource;
  */
 @RepositoryRestResource(exported = false)
 public interface AnalysisResultRepository extends JpaRepository<AnalysisResult, UUID> {
+
+    @EntityGraph(attributePaths = {"implementation", "implementation.sdk", "inputParameters"})
     List<AnalysisResult> findByImplementedAlgorithm(UUID implementedAlgorithm, Sort sort);
 }
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.repository;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of a {@link org.planqk.nisq.analyzer.core.model.CompilationResult} without the initial and transpiled circuits, used to
+ * list compilation results without loading the LOB columns.
+ */
+public interface CompilationResultSummary {
+
+    UUID getId();
+
+    String getProvider();
+
+    String getQpu();
+
+    String getCompiler();
+
+    int getAnalyzedDepth();
+
+    int getAnalyzedWidth();
+
+    String getCircuitName();
+
+    OffsetDateTime getTime();
+}
@@ -19,12 +19,38 @@
 
 package org.planqk.nisq.analyzer.core.repository;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 @RepositoryRestResource(exported = false)
 public interface CompilerAnalysisResultRepository extends JpaRepository<CompilationResult, UUID> {
+
+    /**
+     * Retrieve a page of compilation results without their circuits, optionally filtered by provider, QPU, and compiler
+     *
+     * @param provider the name of the provider or null to retrieve the results of all providers
+     * @param qpu      the name of the QPU or null to retrieve the results of all QPUs
+     * @param compiler the name of the compiler or null to retrieve the results of all compilers
+     * @param from     the start of the time range of the results
+     * @param to       the end of the time range of the results
+     * @param pageable the page to retrieve
+     * @return the requested page of compilation results
+     */
+    @Query(value = "SELECT r.id AS id, r.provider AS provider, r.qpu AS qpu, r.compiler AS compiler, r.analyzedDepth AS analyzedDepth, "
+            + "r.analyzedWidth AS analyzedWidth, r.circuitName AS circuitName, r.time AS time "
+            + "FROM CompilationResult r WHERE (:provider IS NULL OR r.provider = :provider) AND (:qpu IS NULL OR r.qpu = :qpu) "
+            + "AND (:compiler IS NULL OR r.compiler = :compiler) AND r.time BETWEEN :from AND :to",
+            countQuery = "SELECT COUNT(r) FROM CompilationResult r WHERE (:provider IS NULL OR r.provider = :provider) "
+                    + "AND (:qpu IS NULL OR r.qpu = :qpu) AND (:compiler IS NULL OR r.compiler = :compiler) AND r.time BETWEEN :from AND :to")
+    Page<CompilationResultSummary> findSummaries(@Param("provider") String provider, @Param("qpu") String qpu,
+                                                 @Param("compiler") String compiler, @Param("from") OffsetDateTime from,
+                                                 @Param("to") OffsetDateTime to, Pageable pageable);
 }
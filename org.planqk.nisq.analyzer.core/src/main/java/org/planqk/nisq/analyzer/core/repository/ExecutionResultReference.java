@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Projection of an {@link org.planqk.nisq.analyzer.core.model.ExecutionResult} to its id and the id of the analysis, compilation, or QPU
+ * selection result it was executed for, used to create the links to the executions of multiple results with a single query.
+ */
+public interface ExecutionResultReference {
+
+    UUID getResultId();
+
+    UUID getExecutionResultId();
+
+    /**
+     * Group the ids of the given execution results by the results they were executed for
+     *
+     * @param references the execution result references to group
+     * @return a map from the result ids to the ids of their execution results
+     */
+    static Map<UUID, List<UUID>> groupByResult(List<ExecutionResultReference> references) {
+        return references.stream().collect(Collectors.groupingBy(ExecutionResultReference::getResultId,
+                Collectors.mapping(ExecutionResultReference::getExecutionResultId, Collectors.toList())));
+    }
+}
@@ -19,7 +19,10 @@
 
 package org.planqk.nisq.analyzer.core.repository;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.AnalysisResult;
@@ -27,7 +30,10 @@ import org.planqk.nisq.analyzer.core.model.CompilationResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 /**
@@ -40,7 +46,57 @@ public interface ExecutionResultRepository extends JpaRepository<ExecutionResult
 
     List<ExecutionResult> findByExecutedImplementation(Implementation implementation);
 
+    Page<ExecutionResult> findByExecutedImplementation(Implementation implementation, Pageable pageable);
+
     List<ExecutionResult> findByCompilationResult(CompilationResult compilationResult);
 
     List<ExecutionResult> findByQpuSelectionResult(QpuSelectionResult qpuSelectionResult);
+
+    @Query("SELECT e.analysisResult.id AS resultId, e.id AS executionResultId FROM ExecutionResult e WHERE e.analysisResult.id IN ?1")
+    List<ExecutionResultReference> findReferencesByAnalysisResultIds(Collection<UUID> analysisResultIds);
+
+    @Query("SELECT e.compilationResult.id AS resultId, e.id AS executionResultId FROM ExecutionResult e WHERE e.compilationResult.id IN ?1")
+    List<ExecutionResultReference> findReferencesByCompilationResultIds(Collection<UUID> compilationResultIds);
+
+    @Query("SELECT e.qpuSelectionResult.id AS resultId, e.id AS executionResultId FROM ExecutionResult e WHERE e.qpuSelectionResult.id IN ?1")
+    List<ExecutionResultReference> findReferencesByQpuSelectionResultIds(Collection<UUID> qpuSelectionResultIds);
+
+    /**
+     * Retrieve the ids of the executions of the given analysis results with a single query
+     *
+     * @param analysisResultIds the ids of the analysis results
+     * @return a map from the ids of the analysis results to the ids of their execution results
+     */
+    default Map<UUID, List<UUID>> findIdsByAnalysisResultIds(Collection<UUID> analysisResultIds) {
+        if (analysisResultIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return ExecutionResultReference.groupByResult(findReferencesByAnalysisResultIds(analysisResultIds));
+    }
+
+    /**
+     * Retrieve the ids of the executions of the given compilation results with a single query
+     *
+     * @param compilationResultIds the ids of the compilation results
+     * @return a map from the ids of the compilation results to the ids of their execution results
+     */
+    default Map<UUID, List<UUID>> findIdsByCompilationResultIds(Collection<UUID> compilationResultIds) {
+        if (compilationResultIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return ExecutionResultReference.groupByResult(findReferencesByCompilationResultIds(compilationResultIds));
+    }
+
+    /**
+     * Retrieve the ids of the executions of the given QPU selection results with a single query
+     *
+     * @param qpuSelectionResultIds the ids of the QPU selection results
+     * @return a map from the ids of the QPU selection results to the ids of their execution results
+     */
+    default Map<UUID, List<UUID>> findIdsByQpuSelectionResultIds(Collection<UUID> qpuSelectionResultIds) {
+        if (qpuSelectionResultIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return ExecutionResultReference.groupByResult(findReferencesByQpuSelectionResultIds(qpuSelectionResultIds));
+    }
 }
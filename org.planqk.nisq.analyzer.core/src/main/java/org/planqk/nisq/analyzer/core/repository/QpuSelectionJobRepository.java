@@ -19,12 +19,17 @@
 
 package org.planqk.nisq.analyzer.core.repository;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.model.QpuSelectionJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
 
 @RepositoryRestResource(exported = false)
 public interface QpuSelectionJobRepository extends JpaRepository<QpuSelectionJob, UUID> {
+
+    Page<QpuSelectionJob> findByTimeBetween(OffsetDateTime from, OffsetDateTime to, Pageable pageable);
 }
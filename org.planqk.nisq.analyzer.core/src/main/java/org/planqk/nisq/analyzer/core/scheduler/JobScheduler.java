@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.scheduler;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+/**
+ * Scheduler to run long-running jobs, such as selections, compilations, and executions, on bounded worker pools. Each {@link JobType} uses a
+ * separate pool with a bounded queue. If the queue is full, new jobs are rejected with a {@link JobQueueFullException}.
+ */
+@Service
+public class JobScheduler {
+
+    final private static Logger LOG = LoggerFactory.getLogger(JobScheduler.class);
+
+    final private static String PROPERTY_PREFIX = "org.planqk.nisq.analyzer.jobs.";
+
+    final private Map<JobType, ThreadPoolExecutor> executors = new EnumMap<>(JobType.class);
+
+    final private long shutdownTimeout;
+
+    final private MeterRegistry meterRegistry;
+
+    public JobScheduler(Environment environment, MeterRegistry meterRegistry,
+                        @Value("${org.planqk.nisq.analyzer.jobs.shutdownTimeout:60}") long shutdownTimeout,
+                        @Value("${org.planqk.nisq.analyzer.jobs.queueCapacity:50}") int defaultQueueCapacity) {
+        this.shutdownTimeout = shutdownTimeout;
+        this.meterRegistry = meterRegistry;
+
+        for (JobType jobType : JobType.values()) {
+            int workers = environment.getProperty(PROPERTY_PREFIX + jobType.getName() + ".workers", Integer.class, jobType.getDefaultWorkers());
+            int queueCapacity = environment.getProperty(PROPERTY_PREFIX + jobType.getName() + ".queueCapacity", Integer.class, defaultQueueCapacity);
+            LOG.debug("Creating worker pool for jobs of type '{}' with {} workers and queue capacity {}.", jobType.getName(), workers, queueCapacity);
+
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), createThreadFactory(jobType), new ThreadPoolExecutor.AbortPolicy());
+            executors.put(jobType, executor);
+
+            // expose the state of the worker pool
+            Gauge.builder("nisq.jobs.queue.size", executor, e -> e.getQueue().size())
+                    .description("Number of jobs waiting for a free worker")
+                    .tag("type", jobType.getName())
+                    .register(meterRegistry);
+            Gauge.builder("nisq.jobs.workers.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Number of workers currently processing a job")
+                    .tag("type", jobType.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Schedule the given job for asynchronous processing
+     *
+     * @param jobType the type of the job
+     * @param job     the job to run
+     * @throws JobQueueFullException if the queue for the given job type is full or the scheduler is shutting down
+     */
+    public void submit(JobType jobType, Runnable job) throws JobQueueFullException {
+        submit(jobType, job, () -> {
+        });
+    }
+
+    /**
+     * Schedule the given job for asynchronous processing and run the given failure handler if the job fails with an unexpected error, e.g., to
+     * mark the job as failed so that clients waiting for the job see its end
+     *
+     * @param jobType        the type of the job
+     * @param job            the job to run
+     * @param failureHandler the handler to run if the job fails
+     * @throws JobQueueFullException if the queue for the given job type is full or the scheduler is shutting down
+     */
+    public void submit(JobType jobType, Runnable job, Runnable failureHandler) throws JobQueueFullException {
+        try {
+            executors.get(jobType).execute(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                String outcome = "success";
+                try {
+                    job.run();
+                } catch (RuntimeException | UnsatisfiedLinkError e) {
+                    outcome = "failure";
+                    LOG.error("Job of type '{}' failed with unexpected error!", jobType.getName(), e);
+                    handleFailure(jobType, failureHandler);
+                } finally {
+                    sample.stop(Timer.builder("nisq.jobs.duration")
+                            .description("Processing time of the jobs, excluding the time waiting in the queue")
+                            .tag("type", jobType.getName())
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+                    getOutcomeCounter(jobType, outcome).increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Rejecting job of type '{}' as the queue is full.", jobType.getName());
+            getOutcomeCounter(jobType, "rejected").increment();
+            throw new JobQueueFullException(jobType);
+        }
+    }
+
+    private void handleFailure(JobType jobType, Runnable failureHandler) {
+        try {
+            failureHandler.run();
+        } catch (RuntimeException e) {
+            LOG.error("Unable to handle failure of job of type '{}': {}", jobType.getName(), e.getMessage());
+        }
+    }
+
+    private Counter getOutcomeCounter(JobType jobType, String outcome) {
+        return Counter.builder("nisq.jobs.outcomes").tag("type", jobType.getName()).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    /**
+     * Stop accepting new jobs and wait until all queued and running jobs are finished
+     */
+    @PreDestroy
+    public void shutdown() {
+        LOG.info("Shutting down job scheduler. Waiting for in-flight jobs to finish...");
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(shutdownTimeout);
+        for (Map.Entry<JobType, ThreadPoolExecutor> entry : executors.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                if (!entry.getValue().awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+                    LOG.warn("Jobs of type '{}' did not finish within the shutdown timeout!", entry.getKey().getName());
+                    entry.getValue().shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                entry.getValue().shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private ThreadFactory createThreadFactory(JobType jobType) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> new Thread(runnable, "job-" + jobType.getName() + "-" + threadCount.incrementAndGet());
+    }
+}
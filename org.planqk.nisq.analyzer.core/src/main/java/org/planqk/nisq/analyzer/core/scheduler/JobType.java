@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.scheduler;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Types of long-running jobs that are processed by separate worker pools of the {@link JobScheduler}.
+ */
+@AllArgsConstructor
+public enum JobType {
+
+    ANALYSIS("analysis", 4),
+    COMPILATION("compilation", 4),
+    QPU_SELECTION("qpu-selection", 2),
+    EXECUTION("execution", 8);
+
+    // name used for the configuration properties and metric tags
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int defaultWorkers;
+}
@@ -19,15 +19,21 @@
 
 package org.planqk.nisq.analyzer.core.translator;
 
-import java.io.File;
-import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
-import org.apache.commons.io.FileUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,34 +42,118 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Service to translate quantum circuits between different languages using the translator service.
+ * <p>
+ * Translations are cached by the hash of the circuit and the source and target language, as they do not change for the same input. Concurrent
+ * requests for the same translation are coalesced, so that only one request per translation is sent to the translator service.
+ */
 @Service
 public class TranslatorService {
 
     final private static Logger LOG = LoggerFactory.getLogger(TranslatorService.class);
 
+    // name of the backend to retrieve the configured HTTP timeouts
+    final private static String BACKEND_NAME = "translator";
+
     private URI translateAPIEndpoint;
 
+    // LRU cache for the pending and finished translations
+    final private Map<List<String>, CompletableFuture<CircuitPayload>> translationCache;
+
+    final private Counter cacheHits;
+
+    final private Counter cacheMisses;
+
+    final private MeterRegistry meterRegistry;
+
+    final private RestTemplate restTemplate;
+
     public TranslatorService(
             @Value("${org.planqk.nisq.analyzer.translator.hostname}") String hostname,
-            @Value("${org.planqk.nisq.analyzer.translator.port}") int port
+            @Value("${org.planqk.nisq.analyzer.translator.port}") int port,
+            @Value("${org.planqk.nisq.analyzer.translator.cache.size:500}") int cacheSize,
+            MeterRegistry meterRegistry,
+            HttpClientService httpClientService
     ) {
         translateAPIEndpoint = URI.create(String.format("http://%s:%d/convert", hostname, port));
+        this.translationCache = new LinkedHashMap<List<String>, CompletableFuture<CircuitPayload>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, CompletableFuture<CircuitPayload>> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.cacheHits = Counter.builder("nisq.translator.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("nisq.translator.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+        this.restTemplate = httpClientService.getRestTemplate(BACKEND_NAME);
+        Gauge.builder("nisq.translator.cache.size", translationCache, cache -> {
+            synchronized (cache) {
+                return cache.size();
+            }
+        }).register(meterRegistry);
     }
 
     /**
-     * Translate the given quantum circuit into an equivalent circuit in the target language
+     * Translate the given quantum circuit into an equivalent circuit in the target language, or return the cached result of an earlier
+     * translation. If the same translation is currently performed by another thread, its result is awaited.
      *
-     * @param circuit        the file containing the quantum circuit to translate
-     * @param sourceLanguage the language of the input quantum circuit
+     * @param circuit        the quantum circuit to translate
      * @param targetLanguage the language to which the quantum circuit should be translated
-     * @return the file containing the quantum circuit in the target language or null if an error occurs
+     * @return the quantum circuit in the target language or null if an error occurs
      */
-    public File tranlateCircuit(File circuit, String sourceLanguage, String targetLanguage) {
+    public CircuitPayload translateCircuit(CircuitPayload circuit, String targetLanguage) {
+        String sourceLanguage = circuit.getLanguage();
+        List<String> cacheKey = Arrays.asList(circuit.getHash(), sourceLanguage.toLowerCase(), targetLanguage.toLowerCase());
+
+        CompletableFuture<CircuitPayload> translation;
+        boolean translate = false;
+        synchronized (translationCache) {
+            translation = translationCache.get(cacheKey);
+            if (Objects.isNull(translation)) {
+                translation = new CompletableFuture<>();
+                translationCache.put(cacheKey, translation);
+                translate = true;
+            }
+        }
+
+        if (!translate) {
+            LOG.debug("Using cached translation from source language '{}' to target language '{}'!", sourceLanguage, targetLanguage);
+            cacheHits.increment();
+            return translation.join();
+        }
+
+        cacheMisses.increment();
+        CircuitPayload translatedCircuit = null;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String translatedContent = requestTranslation(circuit.getContent(), sourceLanguage, targetLanguage);
+            if (Objects.nonNull(translatedContent)) {
+                translatedCircuit = CircuitPayload.of(translatedContent, targetLanguage);
+            }
+        } finally {
+            sample.stop(Timer.builder("nisq.translator.requests")
+                    .tag("source", sourceLanguage.toLowerCase())
+                    .tag("target", targetLanguage.toLowerCase())
+                    .tag("outcome", Objects.nonNull(translatedCircuit) ? "success" : "error")
+                    .register(meterRegistry));
+
+            // failed translations are not cached to retry them with the next request
+            if (Objects.isNull(translatedCircuit)) {
+                synchronized (translationCache) {
+                    translationCache.remove(cacheKey, translation);
+                }
+            }
+            translation.complete(translatedCircuit);
+        }
+        return translatedCircuit;
+    }
+
+    private String requestTranslation(String circuit, String sourceLanguage, String targetLanguage) {
         LOG.debug("Translating circuit from source language '{}' to target language '{}'!", sourceLanguage, targetLanguage);
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
-            TranslationRequest request = new TranslationRequest(sourceLanguage, targetLanguage, FileUtils.readFileToString(circuit, StandardCharsets.UTF_8));
+            TranslationRequest request = new TranslationRequest(sourceLanguage, targetLanguage, circuit);
 
             // translate the circuit into the target language
             ResponseEntity<String> response = restTemplate.postForEntity(translateAPIEndpoint, request, String.class);
@@ -71,10 +161,7 @@ public class TranslatorService {
             // Check if the Qiskit service was successful
             if (response.getStatusCode().is2xxSuccessful()) {
                 LOG.debug("Circuit translated successfully!");
-
-                final File translatedCircuit = File.createTempFile("temp", null);
-                FileUtils.writeStringToFile(translatedCircuit, response.getBody());
-                return translatedCircuit;
+                return response.getBody();
             } else {
                 LOG.error("Error while translating circuit: {}", response.getStatusCodeValue());
                 return null;
@@ -82,9 +169,6 @@ public class TranslatorService {
         } catch (RestClientException e) {
             LOG.error("Connection to translator service failed.");
             return null;
-        } catch (IOException e) {
-            LOG.error("Error while reading circuit file.");
-            return null;
         }
     }
 
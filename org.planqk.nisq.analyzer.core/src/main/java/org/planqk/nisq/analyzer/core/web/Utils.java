@@ -19,115 +19,159 @@
 
 package org.planqk.nisq.analyzer.core.web;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.HttpURLConnection;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Objects;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.http.TokenManager;
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
+import org.planqk.nisq.analyzer.core.model.CircuitCompression;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.RepresentationModel;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 public class Utils {
 
     private final static Logger LOG = LoggerFactory.getLogger(Utils.class);
 
-    public static File inputStreamToFile(InputStream in, String fileEnding) throws IOException {
-        final File tempFile = File.createTempFile("temp", "." + fileEnding);
-        tempFile.deleteOnExit();
-        try (FileOutputStream out = new FileOutputStream(tempFile)) {
-            IOUtils.copy(in, out);
-            return tempFile;
-        } catch (IOException e) {
-            return null;
-        }
+    // name of the backend to retrieve the configured HTTP timeouts for loading circuits from URLs
+    private final static String CIRCUITS_BACKEND_NAME = "circuits";
+
+    /**
+     * Get the metadata of the given page to add it to the DTO of a paginated listing.
+     *
+     * @param page the retrieved page
+     * @return the metadata of the page
+     */
+    public static PagedModel.PageMetadata getPageMetadata(Page<?> page) {
+        return new PagedModel.PageMetadata(page.getSize(), page.getNumber(), page.getTotalElements(), page.getTotalPages());
     }
 
-    public static File getFileObjectFromMultipart(MultipartFile multipartFile) {
-        try {
-            String[] fileNameParts = multipartFile.getOriginalFilename().split("\\.");
-            String fileEnding = fileNameParts[fileNameParts.length - 1];
-            return Utils.inputStreamToFile(multipartFile.getInputStream(), fileEnding);
-        } catch (IOException e) {
-            LOG.warn("Exception while loading file from multipart object: {}", e.getLocalizedMessage());
-            return null;
+    /**
+     * Add links to the first, previous, next, and last page of a paginated listing based on the URI of the current request, which
+     * retains the filter and sort parameters of the request.
+     *
+     * @param model the DTO of the paginated listing
+     * @param page  the retrieved page
+     */
+    public static void addPageLinks(RepresentationModel<?> model, Page<?> page) {
+        if (page.getTotalPages() <= 1) {
+            return;
+        }
+        model.add(getPageLink(0, page.getSize(), IanaLinkRelations.FIRST));
+        if (page.hasPrevious()) {
+            model.add(getPageLink(page.getNumber() - 1, page.getSize(), IanaLinkRelations.PREV));
         }
+        if (page.hasNext()) {
+            model.add(getPageLink(page.getNumber() + 1, page.getSize(), IanaLinkRelations.NEXT));
+        }
+        model.add(getPageLink(page.getTotalPages() - 1, page.getSize(), IanaLinkRelations.LAST));
     }
 
-    public static File getFileObjectFromUrl(URL url, String refreshToken) {
-        try {
-            String[] fileNameParts = url.toString().split("/");
-            String fileEnding = fileNameParts[fileNameParts.length - 1];
+    private static Link getPageLink(int page, int size, LinkRelation relation) {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("page", page)
+                .replaceQueryParam("size", size)
+                .toUriString();
+        return new Link(uri, relation);
+    }
 
-            HttpURLConnection con = (HttpURLConnection) url.openConnection();
+    /**
+     * Create a response streaming the given circuit to the client. If the circuit is stored gzip-compressed and the client accepts gzip
+     * encoding, the compressed content is sent as is, otherwise the circuit is decompressed while streaming it.
+     *
+     * @param circuit        the circuit to download
+     * @param acceptEncoding the Accept-Encoding header of the request or null if not present
+     * @return the response streaming the circuit
+     */
+    public static ResponseEntity<StreamingResponseBody> createCircuitDownload(CircuitBlob circuit, String acceptEncoding) {
+        if (Objects.isNull(circuit)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
 
-            if (url.getHost().equals("platform.planqk.de")) {
-                String bearerToken = getBearerTokenFromRefreshToken(refreshToken)[0];
-                con.setRequestProperty("Authorization", "Bearer " + bearerToken);
-            }
+        // load the content before streaming it asynchronously
+        byte[] content = circuit.getContent();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.TEXT_PLAIN)
+                .eTag("\"" + circuit.getHash() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (circuit.getCompression() == CircuitCompression.GZIP && Objects.nonNull(acceptEncoding) && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(content.length)
+                    .body(out -> out.write(content));
+        }
+        return response.contentLength(circuit.getSize()).body(out -> copyCircuit(circuit, out));
+    }
 
-            return Utils.inputStreamToFile(con.getInputStream(), fileEnding);
-        } catch (IOException e) {
-            LOG.warn("Exception while loading file from URL: {}", e.getLocalizedMessage());
-            return null;
+    private static void copyCircuit(CircuitBlob circuit, OutputStream out) throws IOException {
+        try (InputStream in = circuit.openStream()) {
+            IOUtils.copy(in, out);
         }
     }
 
     /**
-     * Gets new bearer token and refresh token from the PlanQK platform.
-     * @param refreshToken valid refresh token from the PlanQK platform.
-     * @return string array: [bearer token, refresh token]
+     * Read the circuit contained in the given multipart file into memory
+     *
+     * @param multipartFile the uploaded circuit
+     * @param language      the language of the circuit
+     * @return the circuit or null if it can not be read
      */
-    public static String[] getBearerTokenFromRefreshToken(String refreshToken) {
-        if (refreshToken == null || refreshToken.equals("")) {
-            LOG.info("No refresh token provided, cannot get bearer token.");
-            return new String[] {"", ""};
+    public static CircuitPayload getCircuitFromMultipart(MultipartFile multipartFile, String language) {
+        try {
+            return CircuitPayload.of(multipartFile.getBytes(), language);
+        } catch (IOException e) {
+            LOG.warn("Exception while loading file from multipart object: {}", e.getLocalizedMessage());
+            return null;
         }
+    }
 
+    /**
+     * Load the circuit from the given URL into memory
+     *
+     * @param url          the URL of the circuit
+     * @param refreshToken a refresh token for the PlanQK platform, if the circuit is hosted on the platform
+     * @param language     the language of the circuit
+     * @param tokenManager      the token manager to retrieve the bearer token for the PlanQK platform
+     * @param httpClientService the service providing the pooled HTTP client to load the circuit
+     * @return the circuit or null if it can not be loaded
+     */
+    public static CircuitPayload getCircuitFromUrl(URL url, String refreshToken, String language, TokenManager tokenManager,
+                                                   HttpClientService httpClientService) {
         try {
-            String url = "https://platform.planqk.de/auth/realms/planqk/protocol/openid-connect/token";
-
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            MultiValueMap<String, String> map = new LinkedMultiValueMap<String, String>();
-            map.add("grant_type", "refresh_token");
-            map.add("client_id", "vue-frontend");
-            map.add("refresh_token", refreshToken);
-
-            HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<MultiValueMap<String, String>>(map, headers);
-
-            RestTemplate restTemplate = new RestTemplate();
-            ResponseEntity<String> response = restTemplate.postForEntity( url, request , String.class );
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode json = mapper.readTree(response.getBody());
-
-            if (json.has("error")) {
-                LOG.error("Could not get new tokens. Received error message: " + json.at("/error_description").asText());
-                return new String[0];
+            if (url.getHost().equals(Constants.PLANQK_PLATFORM_HOST)) {
+                headers.setBearerAuth(tokenManager.getBearerToken(refreshToken));
             }
 
-            return new String[] {
-                json.at("/access_token").asText(),
-                json.at("/refresh_token").asText()
-            };
-        } catch (Exception e) {
-            System.err.println(e);
-
-            return new String[0];
+            byte[] content = httpClientService.getRestTemplate(CIRCUITS_BACKEND_NAME)
+                    .exchange(url.toURI(), HttpMethod.GET, new HttpEntity<>(headers), byte[].class)
+                    .getBody();
+            return CircuitPayload.of(Objects.nonNull(content) ? content : new byte[0], language);
+        } catch (URISyntaxException | RestClientException e) {
+            LOG.warn("Exception while loading file from URL: {}", e.getLocalizedMessage());
+            return null;
         }
     }
 }
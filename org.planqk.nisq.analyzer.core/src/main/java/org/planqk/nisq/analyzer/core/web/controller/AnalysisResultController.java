@@ -3,7 +3,11 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -11,6 +15,8 @@ import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.control.JobEventPublisher;
+import org.planqk.nisq.analyzer.core.control.JobEventSubscription;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
 import org.planqk.nisq.analyzer.core.model.AnalysisResult;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
@@ -20,6 +26,8 @@ import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.repository.AnalysisResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
+import org.planqk.nisq.analyzer.core.scheduler.JobQueueFullException;
+import org.planqk.nisq.analyzer.core.web.Utils;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisResultListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultDto;
@@ -28,9 +36,15 @@ import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisJobListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.requests.ExecuteAnalysisResultRequestDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.data.rest.converters.PageableAsQueryParam;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -38,7 +52,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -66,6 +82,8 @@ public class AnalysisResultController {
 
     private final NisqAnalyzerControlService controlService;
 
+    private final JobEventPublisher jobEventPublisher;
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
             description = "Retrieve all analysis results for an algorithm")
     @Parameter(in = ParameterIn.QUERY
@@ -74,24 +92,42 @@ public class AnalysisResultController {
             , name = "sort"
             , content = @Content(array = @ArraySchema(schema = @Schema(type = "string"))))
     @GetMapping("/algorithm/{algoId}")
+    @Transactional
     public HttpEntity<AnalysisResultListDto> getAnalysisResults(@PathVariable UUID algoId,
                                                                 @Parameter(hidden = true) Sort sort) {
         LOG.debug("Get to retrieve all analysis results for algo with id: {}.", algoId);
+        List<AnalysisResult> results = analysisResultRepository.findByImplementedAlgorithm(algoId, sort);
+
+        // load the executions of all results at once instead of querying them for each result
+        Map<UUID, List<UUID>> executionResultIds =
+                executionResultRepository.findIdsByAnalysisResultIds(results.stream().map(AnalysisResult::getId).collect(Collectors.toList()));
+
         AnalysisResultListDto model = new AnalysisResultListDto();
-        model.add(analysisResultRepository.findByImplementedAlgorithm(algoId, sort)
-                .stream().map(this::createAnalysisResultDto).collect(Collectors.toList()));
+        model.add(results.stream()
+                .map(result -> createAnalysisResultDto(result, executionResultIds.getOrDefault(result.getId(), Collections.emptyList())))
+                .collect(Collectors.toList()));
         model.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisResults(algoId, sort)).withSelfRel());
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all compiler analysis jobs")
+            description = "Retrieve the analysis jobs page by page without their results, optionally filtered by time range. "
+                    + "By default, the newest jobs are returned first")
+    @PageableAsQueryParam
     @GetMapping("/" + Constants.JOBS)
     @Transactional
-    public HttpEntity<AnalysisJobListDto> getAnalysisJobs() {
+    public HttpEntity<AnalysisJobListDto> getAnalysisJobs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @Parameter(hidden = true) @PageableDefault(sort = "time", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<AnalysisJob> page = analysisJobRepository.findByTimeBetween(
+                Objects.nonNull(from) ? from : Constants.TIME_RANGE_START, Objects.nonNull(to) ? to : Constants.TIME_RANGE_END, pageable);
+
         AnalysisJobListDto model = new AnalysisJobListDto();
-        model.add(analysisJobRepository.findAll().stream().map(this::createAnalysisJobDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs()).withSelfRel());
+        model.add(page.stream().map(job -> createAnalysisJobDto(job, false)).collect(Collectors.toList()));
+        model.setPage(Utils.getPageMetadata(page));
+        model.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisJobs(from, to, pageable)).withSelfRel());
+        Utils.addPageLinks(model, page);
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
@@ -118,12 +154,13 @@ public class AnalysisResultController {
         , name = "sort"
         , content = @Content(array = @ArraySchema(schema = @Schema(type = "string"))))
     @GetMapping("/" + Constants.JOBS + "/algorithm/{algoId}")
+    @Transactional
     public HttpEntity<AnalysisJobListDto> getAnalysisJobsOfAlgorithm(@PathVariable UUID algoId,
                                                                 @Parameter(hidden = true) Sort sort) {
         LOG.debug("Get to retrieve all analysis jobs for algo with id: {}.", algoId);
         AnalysisJobListDto model = new AnalysisJobListDto();
         model.add(analysisJobRepository.findByImplementedAlgorithm(algoId, sort)
-            .stream().map(this::createAnalysisJobDto).collect(Collectors.toList()));
+            .stream().map(job -> createAnalysisJobDto(job, true)).collect(Collectors.toList()));
         model.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisJobsOfAlgorithm(algoId, sort)).withSelfRel());
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
@@ -141,7 +178,33 @@ public class AnalysisResultController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<>(createAnalysisJobDto(result.get()), HttpStatus.OK);
+        return new ResponseEntity<>(createAnalysisJobDto(result.get(), true), HttpStatus.OK);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Subscribe to the results of a analysis job, which are sent as Server-Sent Events as soon as they are available")
+    @GetMapping(value = "/" + Constants.JOBS + "/{resId}/" + Constants.EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getAnalysisJobEvents(@PathVariable UUID resId) {
+        LOG.debug("Get to subscribe to events of analysis job with id: {}.", resId);
+
+        // subscribe before loading the job to not miss results that are added in the meantime
+        JobEventSubscription<AnalysisResult> subscription = jobEventPublisher.subscribe(resId, this::createAnalysisResultDto);
+        Optional<AnalysisJob> jobOptional = analysisJobRepository.findById(resId);
+        if (!jobOptional.isPresent()) {
+            LOG.error("Unable to retrieve analysis job with id {} from the repository.", resId);
+            subscription.cancel();
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        // send the results that are already available
+        AnalysisJob job = jobOptional.get();
+        job.getJobResults().forEach(subscription::sendResult);
+        if (job.isFailed()) {
+            subscription.sendFailed();
+        } else if (job.isReady()) {
+            subscription.sendReady();
+        }
+        return new ResponseEntity<>(subscription.getEmitter(), HttpStatus.OK);
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "202"), @ApiResponse(responseCode = "404", content = @Content),
@@ -177,6 +240,9 @@ public class AnalysisResultController {
             ExecutionResultDto dto = ExecutionResultDto.Converter.convert(result);
             dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(result.getId())).withSelfRel());
             return new ResponseEntity<>(dto, HttpStatus.ACCEPTED);
+        } catch (JobQueueFullException e) {
+            LOG.warn("Unable to schedule execution: {}", e.getMessage());
+            return new ResponseEntity<>(HttpStatus.TOO_MANY_REQUESTS);
         } catch (RuntimeException e) {
             LOG.error("Error while executing implementation", e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -184,6 +250,12 @@ public class AnalysisResultController {
     }
 
     private AnalysisResultDto createAnalysisResultDto(AnalysisResult result) {
+        List<UUID> executionResultIds = executionResultRepository.findIdsByAnalysisResultIds(Collections.singletonList(result.getId()))
+                .getOrDefault(result.getId(), Collections.emptyList());
+        return createAnalysisResultDto(result, executionResultIds);
+    }
+
+    private AnalysisResultDto createAnalysisResultDto(AnalysisResult result, List<UUID> executionResultIds) {
         AnalysisResultDto dto = AnalysisResultDto.Converter.convert(result);
         dto.add(linkTo(methodOn(AnalysisResultController.class)
                 .getAnalysisResult(result.getId()))
@@ -191,15 +263,15 @@ public class AnalysisResultController {
         dto.add(linkTo(methodOn(ImplementationController.class)
                 .getImplementation(result.getImplementation().getId()))
                 .withRel(Constants.EXECUTED_ALGORITHM_LINK));
-        for (ExecutionResult executionResult : executionResultRepository.findByAnalysisResult(result)) {
-            dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResult.getId()))
-                    .withRel(Constants.EXECUTION + "-" + executionResult.getId()));
+        for (UUID executionResultId : executionResultIds) {
+            dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResultId))
+                    .withRel(Constants.EXECUTION + "-" + executionResultId));
         }
         return dto;
     }
 
-    private AnalysisJobDto createAnalysisJobDto(AnalysisJob job) {
-        AnalysisJobDto dto = AnalysisJobDto.Converter.convert(job);
+    private AnalysisJobDto createAnalysisJobDto(AnalysisJob job, boolean withResults) {
+        AnalysisJobDto dto = AnalysisJobDto.Converter.convert(job, withResults);
         dto.add(linkTo(methodOn(AnalysisResultController.class).getAnalysisJob(job.getId())).withSelfRel());
         return dto;
     }
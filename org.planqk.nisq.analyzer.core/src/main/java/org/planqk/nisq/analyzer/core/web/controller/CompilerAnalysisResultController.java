@@ -22,8 +22,12 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,6 +35,8 @@ import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.control.JobEventPublisher;
+import org.planqk.nisq.analyzer.core.control.JobEventSubscription;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
@@ -38,8 +44,10 @@ import org.planqk.nisq.analyzer.core.model.DataType;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.ParameterValue;
 import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
+import org.planqk.nisq.analyzer.core.repository.CompilationResultSummary;
 import org.planqk.nisq.analyzer.core.repository.CompilerAnalysisResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
+import org.planqk.nisq.analyzer.core.web.Utils;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilationJobDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilationJobListDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilerAnalysisResultDto;
@@ -47,17 +55,30 @@ import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilerAnalysisResultLis
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.data.rest.converters.PageableAsQueryParam;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -80,25 +101,50 @@ public class CompilerAnalysisResultController {
 
     private final NisqAnalyzerControlService controlService;
 
+    private final JobEventPublisher jobEventPublisher;
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all compiler analysis results")
+            description = "Retrieve the compiler analysis results page by page without their circuits, optionally filtered by provider, "
+                    + "QPU, compiler, and time range. By default, the newest results are returned first")
+    @PageableAsQueryParam
     @GetMapping("/")
-    public HttpEntity<CompilerAnalysisResultListDto> getCompilerAnalysisResults() {
+    public HttpEntity<CompilerAnalysisResultListDto> getCompilerAnalysisResults(
+            @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String qpu,
+            @RequestParam(required = false) String compiler,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @Parameter(hidden = true) @PageableDefault(sort = "time", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<CompilationResultSummary> page = compilerAnalysisResultRepository.findSummaries(provider, qpu, compiler,
+                Objects.nonNull(from) ? from : Constants.TIME_RANGE_START, Objects.nonNull(to) ? to : Constants.TIME_RANGE_END, pageable);
+
+        // load the executions of all results of the page at once instead of querying them for each result
+        Map<UUID, List<UUID>> executionResultIds =
+                executionResultRepository.findIdsByCompilationResultIds(page.map(CompilationResultSummary::getId).getContent());
+
         CompilerAnalysisResultListDto model = new CompilerAnalysisResultListDto();
-        model.add(compilerAnalysisResultRepository.findAll().stream().map(this::createDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults()).withSelfRel());
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs()).withRel(Constants.JOBS));
+        model.add(page.stream().map(result -> createDto(result, executionResultIds)).collect(Collectors.toList()));
+        model.setPage(Utils.getPageMetadata(page));
+        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults(provider, qpu, compiler, from, to, pageable))
+                .withSelfRel());
+        Utils.addPageLinks(model, page);
+        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs(null)).withRel(Constants.JOBS));
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all compiler analysis jobs")
+            description = "Retrieve the compiler analysis jobs page by page without their results")
+    @PageableAsQueryParam
     @GetMapping("/" + Constants.JOBS)
     @Transactional
-    public HttpEntity<CompilationJobListDto> getCompilerAnalysisJobs() {
+    public HttpEntity<CompilationJobListDto> getCompilerAnalysisJobs(@Parameter(hidden = true) @PageableDefault(sort = "id") Pageable pageable) {
+        Page<CompilationJob> page = compilationJobRepository.findAll(pageable);
+
         CompilationJobListDto model = new CompilationJobListDto();
-        model.add(compilationJobRepository.findAll().stream().map(this::createJobDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs()).withSelfRel());
+        model.add(page.stream().map(job -> createJobDto(job, false)).collect(Collectors.toList()));
+        model.setPage(Utils.getPageMetadata(page));
+        model.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJobs(pageable)).withSelfRel());
+        Utils.addPageLinks(model, page);
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
@@ -117,6 +163,40 @@ public class CompilerAnalysisResultController {
         return new ResponseEntity<>(createDto(result.get()), HttpStatus.OK);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Download the initial circuit of a compilation result")
+    @GetMapping(value = "/{resId}/" + Constants.INITIAL_CIRCUIT, produces = MediaType.TEXT_PLAIN_VALUE)
+    @Transactional
+    public ResponseEntity<StreamingResponseBody> getInitialCircuit(@PathVariable UUID resId,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LOG.debug("Get to download initial circuit of compilation result with id: {}.", resId);
+
+        Optional<CompilationResult> result = compilerAnalysisResultRepository.findById(resId);
+        if (!result.isPresent()) {
+            LOG.error("Unable to retrieve compilation result with id {} from the repository.", resId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return Utils.createCircuitDownload(result.get().getInitialCircuit(), acceptEncoding);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Download the transpiled circuit of a compilation result")
+    @GetMapping(value = "/{resId}/" + Constants.TRANSPILED_CIRCUIT, produces = MediaType.TEXT_PLAIN_VALUE)
+    @Transactional
+    public ResponseEntity<StreamingResponseBody> getTranspiledCircuit(@PathVariable UUID resId,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LOG.debug("Get to download transpiled circuit of compilation result with id: {}.", resId);
+
+        Optional<CompilationResult> result = compilerAnalysisResultRepository.findById(resId);
+        if (!result.isPresent()) {
+            LOG.error("Unable to retrieve compilation result with id {} from the repository.", resId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return Utils.createCircuitDownload(result.get().getTranspiledCircuit(), acceptEncoding);
+    }
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
             description = "Retrieve a single compilation result")
     @GetMapping("/" + Constants.JOBS + "/{resId}")
@@ -130,7 +210,33 @@ public class CompilerAnalysisResultController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<>(createJobDto(result.get()), HttpStatus.OK);
+        return new ResponseEntity<>(createJobDto(result.get(), true), HttpStatus.OK);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Subscribe to the results of a compilation job, which are sent as Server-Sent Events as soon as they are available")
+    @GetMapping(value = "/" + Constants.JOBS + "/{resId}/" + Constants.EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getCompilationJobEvents(@PathVariable UUID resId) {
+        LOG.debug("Get to subscribe to events of compilation job with id: {}.", resId);
+
+        // subscribe before loading the job to not miss results that are added in the meantime
+        JobEventSubscription<CompilationResult> subscription = jobEventPublisher.subscribe(resId, this::createDto);
+        Optional<CompilationJob> jobOptional = compilationJobRepository.findById(resId);
+        if (!jobOptional.isPresent()) {
+            LOG.error("Unable to retrieve compilation job with id {} from the repository.", resId);
+            subscription.cancel();
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        // send the results that are already available
+        CompilationJob job = jobOptional.get();
+        job.getJobResults().forEach(subscription::sendResult);
+        if (job.isFailed()) {
+            subscription.sendFailed();
+        } else if (job.isReady()) {
+            subscription.sendReady();
+        }
+        return new ResponseEntity<>(subscription.getEmitter(), HttpStatus.OK);
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "202"), @ApiResponse(responseCode = "404", content = @Content),
@@ -157,18 +263,31 @@ public class CompilerAnalysisResultController {
     }
 
     private CompilerAnalysisResultDto createDto(CompilationResult result) {
-        CompilerAnalysisResultDto dto = CompilerAnalysisResultDto.Converter.convert(result);
-        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResult(result.getId())).withSelfRel());
-        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).executeCompilationResult(result.getId())).withRel(Constants.EXECUTION));
-        for (ExecutionResult executionResult : executionResultRepository.findByCompilationResult(result)) {
-            dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResult.getId()))
-                .withRel(Constants.EXECUTION + "-" + executionResult.getId()));
+        List<UUID> executionResultIds = executionResultRepository.findIdsByCompilationResultIds(Collections.singletonList(result.getId()))
+                .getOrDefault(result.getId(), Collections.emptyList());
+        return addLinks(CompilerAnalysisResultDto.Converter.convert(result), executionResultIds);
+    }
+
+    private CompilerAnalysisResultDto createDto(CompilationResultSummary summary, Map<UUID, List<UUID>> executionResultIds) {
+        List<UUID> summaryExecutionResultIds = executionResultIds.getOrDefault(summary.getId(), Collections.emptyList());
+        return addLinks(CompilerAnalysisResultDto.Converter.convert(summary), summaryExecutionResultIds);
+    }
+
+    private CompilerAnalysisResultDto addLinks(CompilerAnalysisResultDto dto, List<UUID> executionResultIds) {
+        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResult(dto.getId())).withSelfRel());
+        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getInitialCircuit(dto.getId(), null)).withRel(Constants.INITIAL_CIRCUIT));
+        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getTranspiledCircuit(dto.getId(), null))
+                .withRel(Constants.TRANSPILED_CIRCUIT));
+        dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).executeCompilationResult(dto.getId())).withRel(Constants.EXECUTION));
+        for (UUID executionResultId : executionResultIds) {
+            dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResultId))
+                .withRel(Constants.EXECUTION + "-" + executionResultId));
         }
         return dto;
     }
 
-    private CompilationJobDto createJobDto(CompilationJob job) {
-        CompilationJobDto dto = CompilationJobDto.Converter.convert(job);
+    private CompilationJobDto createJobDto(CompilationJob job, boolean withResults) {
+        CompilationJobDto dto = CompilationJobDto.Converter.convert(job, withResults);
         dto.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisJob(job.getId())).withSelfRel());
         return dto;
     }
@@ -22,31 +22,42 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.connector.ExecutionRequestResult;
+import org.planqk.nisq.analyzer.core.connector.ExecutionResultPoller;
 import org.planqk.nisq.analyzer.core.model.ExecutionResult;
 import org.planqk.nisq.analyzer.core.model.Implementation;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.ImplementationRepository;
+import org.planqk.nisq.analyzer.core.web.Utils;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultListDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.data.rest.converters.PageableAsQueryParam;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -62,21 +73,29 @@ public class ExecutionResultController {
 
     private final static Logger LOG = LoggerFactory.getLogger(ExecutionResultController.class);
 
+    private final static String BEARER_PREFIX = "Bearer ";
+
     private final ImplementationRepository implementationRepository;
 
     private final ExecutionResultRepository executionResultRepository;
 
-    public ExecutionResultController(ImplementationRepository implementationRepository, ExecutionResultRepository executionResultRepository) {
+    private final ExecutionResultPoller executionResultPoller;
+
+    public ExecutionResultController(ImplementationRepository implementationRepository, ExecutionResultRepository executionResultRepository,
+                                     ExecutionResultPoller executionResultPoller) {
         this.implementationRepository = implementationRepository;
         this.executionResultRepository = executionResultRepository;
+        this.executionResultPoller = executionResultPoller;
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all execution results for an Implementation")
+            description = "Retrieve the execution results page by page, optionally only the results for an Implementation")
+    @PageableAsQueryParam
     @GetMapping("/")
-    public HttpEntity<ExecutionResultListDto> getExecutionResults(@RequestParam(required = false) UUID implId) {
+    public HttpEntity<ExecutionResultListDto> getExecutionResults(@RequestParam(required = false) UUID implId,
+                                                                  @Parameter(hidden = true) @PageableDefault(sort = "id") Pageable pageable) {
 
-        List<ExecutionResult> resultList;
+        Page<ExecutionResult> resultPage;
         if (Objects.nonNull(implId)) {
             LOG.debug("Get to retrieve all execution results for impl with id: {}.", implId);
 
@@ -85,18 +104,20 @@ public class ExecutionResultController {
                 LOG.error("Unable to retrieve implementation with id {} form the repository.", implId);
                 return new ResponseEntity<>(HttpStatus.NOT_FOUND);
             }
-            resultList = executionResultRepository.findByExecutedImplementation(implementationOptional.get());
+            resultPage = executionResultRepository.findByExecutedImplementation(implementationOptional.get(), pageable);
         } else {
-            resultList = executionResultRepository.findAll();
+            resultPage = executionResultRepository.findAll(pageable);
         }
 
         ExecutionResultListDto dtoList = new ExecutionResultListDto();
-        for (ExecutionResult executionResult : resultList) {
+        for (ExecutionResult executionResult : resultPage) {
             dtoList.add(createExecutionResultDto(executionResult));
             dtoList.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResult.getId()))
                     .withRel(executionResult.getId().toString()));
         }
-        dtoList.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implId)).withSelfRel());
+        dtoList.setPage(Utils.getPageMetadata(resultPage));
+        dtoList.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implId, pageable)).withSelfRel());
+        Utils.addPageLinks(dtoList, resultPage);
         return new ResponseEntity<>(dtoList, HttpStatus.OK);
     }
 
@@ -115,6 +136,35 @@ public class ExecutionResultController {
         return new ResponseEntity<>(createExecutionResultDto(executionResultOptional.get()), HttpStatus.CREATED);
     }
 
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
+            @ApiResponse(responseCode = "401", content = @Content), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Push the result of a running execution to complete it without further polling of the executing service. "
+                    + "The configured callback secret has to be sent as bearer token.")
+    @PostMapping("/{resultId}/callback")
+    public HttpEntity<ExecutionResultDto> completeExecutionResult(@PathVariable UUID resultId, @RequestBody ExecutionRequestResult result,
+                                                                  @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false)
+                                                                          String authorization) {
+        LOG.debug("Post to complete execution result with id: {}.", resultId);
+
+        String token = Objects.nonNull(authorization) && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length()).trim() : null;
+        if (!executionResultPoller.isCallbackAuthorized(token)) {
+            LOG.warn("Rejected pushed result for execution result with id {} without valid callback secret.", resultId);
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+
+        if (!result.isComplete()) {
+            return new ResponseEntity("Only results of completed executions can be pushed.", HttpStatus.BAD_REQUEST);
+        }
+
+        if (!executionResultPoller.complete(resultId, result)) {
+            LOG.error("No running execution with id {} is tracked.", resultId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return getExecutionResult(resultId);
+    }
+
     /**
      * Create a DTO object for a given {@link ExecutionResult} with the contained data and the links to related objects.
      *
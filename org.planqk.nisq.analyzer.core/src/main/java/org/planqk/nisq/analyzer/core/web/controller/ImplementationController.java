@@ -31,6 +31,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.connector.TranspilationCache;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
 import org.planqk.nisq.analyzer.core.knowledge.prolog.PrologFactUpdater;
 import org.planqk.nisq.analyzer.core.model.Implementation;
@@ -74,15 +75,18 @@ public class ImplementationController {
     private final ImplementationRepository implementationRepository;
     private final SdkRepository sdkRepository;
     private final PrologFactUpdater prologFactUpdater;
+    private final TranspilationCache transpilationCache;
 
     public ImplementationController(ImplementationRepository implementationRepository,
                                     SdkRepository sdkRepository,
                                     NisqAnalyzerControlService controlService,
-                                    PrologFactUpdater prologFactUpdater) {
+                                    PrologFactUpdater prologFactUpdater,
+                                    TranspilationCache transpilationCache) {
         this.implementationRepository = implementationRepository;
         this.sdkRepository = sdkRepository;
         this.controlService = controlService;
         this.prologFactUpdater = prologFactUpdater;
+        this.transpilationCache = transpilationCache;
     }
 
     /**
@@ -218,6 +222,9 @@ public class ImplementationController {
 
         prologFactUpdater.handleImplementationInsertion(newImpl);
         newImpl = implementationRepository.save(newImpl);
+
+        // the code behind the file location may have changed as well
+        transpilationCache.invalidate(implId);
         return new ResponseEntity<>(createImplementationDto(newImpl), HttpStatus.CREATED);
     }
 
@@ -330,7 +337,7 @@ public class ImplementationController {
     private ImplementationDto createImplementationDto(Implementation implementation) {
         ImplementationDto dto = ImplementationDto.Converter.convert(implementation);
         dto.add(linkTo(methodOn(ImplementationController.class).getImplementation(implementation.getId())).withSelfRel());
-        dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implementation.getId())).withRel(Constants.RESULTS_LINK));
+        dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(implementation.getId(), null)).withRel(Constants.RESULTS_LINK));
         dto.add(linkTo(methodOn(ImplementationController.class).getInputParameters(implementation.getId())).withRel(Constants.INPUT_PARAMS));
         dto.add(linkTo(methodOn(ImplementationController.class).getOutputParameters(implementation.getId())).withRel(Constants.OUTPUT_PARAMS));
 
@@ -22,14 +22,20 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.transaction.Transactional;
 
 import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.control.JobEventPublisher;
+import org.planqk.nisq.analyzer.core.control.JobEventSubscription;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
 import org.planqk.nisq.analyzer.core.model.DataType;
@@ -40,6 +46,8 @@ import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
 import org.planqk.nisq.analyzer.core.repository.ExecutionResultRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultRepository;
+import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultSummary;
+import org.planqk.nisq.analyzer.core.web.Utils;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.ExecutionResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.QpuSelectionJobDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.QpuSelectionJobListDto;
@@ -47,17 +55,30 @@ import org.planqk.nisq.analyzer.core.web.dtos.entities.QpuSelectionResultDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.QpuSelectionResultListDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.data.rest.converters.PageableAsQueryParam;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -80,14 +101,34 @@ public class QpuSelectionResultController {
 
     private final NisqAnalyzerControlService controlService;
 
+    private final JobEventPublisher jobEventPublisher;
+
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all QPU selection results")
+            description = "Retrieve the QPU selection results page by page without their transpiled circuits, optionally filtered by "
+                    + "provider, QPU, compiler, and time range. By default, the newest results are returned first")
+    @PageableAsQueryParam
     @GetMapping("/")
-    public HttpEntity<QpuSelectionResultListDto> getQpuSelectionResults() {
+    public HttpEntity<QpuSelectionResultListDto> getQpuSelectionResults(
+            @RequestParam(required = false) String provider,
+            @RequestParam(required = false) String qpu,
+            @RequestParam(required = false) String compiler,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @Parameter(hidden = true) @PageableDefault(sort = "time", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<QpuSelectionResultSummary> page = qpuSelectionResultRepository.findSummaries(provider, qpu, compiler,
+                Objects.nonNull(from) ? from : Constants.TIME_RANGE_START, Objects.nonNull(to) ? to : Constants.TIME_RANGE_END, pageable);
+
+        // load the executions of all results of the page at once instead of querying them for each result
+        Map<UUID, List<UUID>> executionResultIds =
+                executionResultRepository.findIdsByQpuSelectionResultIds(page.map(QpuSelectionResultSummary::getId).getContent());
+
         QpuSelectionResultListDto model = new QpuSelectionResultListDto();
-        model.add(qpuSelectionResultRepository.findAll().stream().map(this::createDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionResults()).withSelfRel());
-        model.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionJobs()).withRel(Constants.JOBS));
+        model.add(page.stream().map(result -> createDto(result, executionResultIds)).collect(Collectors.toList()));
+        model.setPage(Utils.getPageMetadata(page));
+        model.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionResults(provider, qpu, compiler, from, to, pageable))
+                .withSelfRel());
+        Utils.addPageLinks(model, page);
+        model.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionJobs(null, null, null)).withRel(Constants.JOBS));
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
@@ -107,13 +148,40 @@ public class QpuSelectionResultController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
-            description = "Retrieve all QPU selection jobs")
+            description = "Download the transpiled circuit of a QPU selection result")
+    @GetMapping(value = "/{resId}/" + Constants.TRANSPILED_CIRCUIT, produces = MediaType.TEXT_PLAIN_VALUE)
+    @Transactional
+    public ResponseEntity<StreamingResponseBody> getTranspiledCircuit(@PathVariable UUID resId,
+                                                    @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        LOG.debug("Get to download transpiled circuit of QPU selection result with id: {}.", resId);
+
+        Optional<QpuSelectionResult> result = qpuSelectionResultRepository.findById(resId);
+        if (!result.isPresent()) {
+            LOG.error("Unable to retrieve QPU selection result with id {} from the repository.", resId);
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return Utils.createCircuitDownload(result.get().getTranspiledCircuit(), acceptEncoding);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Retrieve the QPU selection jobs page by page without their results, optionally filtered by time range. "
+                    + "By default, the newest jobs are returned first")
+    @PageableAsQueryParam
     @GetMapping("/" + Constants.JOBS)
     @Transactional
-    public HttpEntity<QpuSelectionJobListDto> getQpuSelectionJobs() {
+    public HttpEntity<QpuSelectionJobListDto> getQpuSelectionJobs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @Parameter(hidden = true) @PageableDefault(sort = "time", direction = Sort.Direction.DESC) Pageable pageable) {
+        Page<QpuSelectionJob> page = qpuSelectionJobRepository.findByTimeBetween(
+                Objects.nonNull(from) ? from : Constants.TIME_RANGE_START, Objects.nonNull(to) ? to : Constants.TIME_RANGE_END, pageable);
+
         QpuSelectionJobListDto model = new QpuSelectionJobListDto();
-        model.add(qpuSelectionJobRepository.findAll().stream().map(this::createJobDto).collect(Collectors.toList()));
-        model.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionJobs()).withSelfRel());
+        model.add(page.stream().map(job -> createJobDto(job, false)).collect(Collectors.toList()));
+        model.setPage(Utils.getPageMetadata(page));
+        model.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionJobs(from, to, pageable)).withSelfRel());
+        Utils.addPageLinks(model, page);
         return new ResponseEntity<>(model, HttpStatus.OK);
     }
 
@@ -130,7 +198,33 @@ public class QpuSelectionResultController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
-        return new ResponseEntity<>(createJobDto(result.get()), HttpStatus.OK);
+        return new ResponseEntity<>(createJobDto(result.get(), true), HttpStatus.OK);
+    }
+
+    @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "404", content = @Content)},
+            description = "Subscribe to the results of a QPU selection job, which are sent as Server-Sent Events as soon as they are available")
+    @GetMapping(value = "/" + Constants.JOBS + "/{resId}/" + Constants.EVENTS, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getQpuSelectionJobEvents(@PathVariable UUID resId) {
+        LOG.debug("Get to subscribe to events of QPU selection job with id: {}.", resId);
+
+        // subscribe before loading the job to not miss results that are added in the meantime
+        JobEventSubscription<QpuSelectionResult> subscription = jobEventPublisher.subscribe(resId, this::createDto);
+        Optional<QpuSelectionJob> jobOptional = qpuSelectionJobRepository.findById(resId);
+        if (!jobOptional.isPresent()) {
+            LOG.error("Unable to retrieve QPU selection job with id {} from the repository.", resId);
+            subscription.cancel();
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        // send the results that are already available
+        QpuSelectionJob job = jobOptional.get();
+        job.getJobResults().forEach(subscription::sendResult);
+        if (job.isFailed()) {
+            subscription.sendFailed();
+        } else if (job.isReady()) {
+            subscription.sendReady();
+        }
+        return new ResponseEntity<>(subscription.getEmitter(), HttpStatus.OK);
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "202"), @ApiResponse(responseCode = "404", content = @Content),
@@ -157,18 +251,29 @@ public class QpuSelectionResultController {
     }
 
     private QpuSelectionResultDto createDto(QpuSelectionResult result) {
-        QpuSelectionResultDto dto = QpuSelectionResultDto.Converter.convert(result);
-        dto.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionResult(result.getId())).withSelfRel());
-        dto.add(linkTo(methodOn(QpuSelectionResultController.class).executeQpuSelectionResult(result.getId())).withRel(Constants.EXECUTION));
-        for (ExecutionResult executionResult : executionResultRepository.findByQpuSelectionResult(result)) {
-            dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResult.getId()))
-                .withRel(Constants.EXECUTION + "-" + executionResult.getId()));
+        List<UUID> executionResultIds = executionResultRepository.findIdsByQpuSelectionResultIds(Collections.singletonList(result.getId()))
+                .getOrDefault(result.getId(), Collections.emptyList());
+        return addLinks(QpuSelectionResultDto.Converter.convert(result), executionResultIds);
+    }
+
+    private QpuSelectionResultDto createDto(QpuSelectionResultSummary summary, Map<UUID, List<UUID>> executionResultIds) {
+        List<UUID> summaryExecutionResultIds = executionResultIds.getOrDefault(summary.getId(), Collections.emptyList());
+        return addLinks(QpuSelectionResultDto.Converter.convert(summary), summaryExecutionResultIds);
+    }
+
+    private QpuSelectionResultDto addLinks(QpuSelectionResultDto dto, List<UUID> executionResultIds) {
+        dto.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionResult(dto.getId())).withSelfRel());
+        dto.add(linkTo(methodOn(QpuSelectionResultController.class).getTranspiledCircuit(dto.getId(), null)).withRel(Constants.TRANSPILED_CIRCUIT));
+        dto.add(linkTo(methodOn(QpuSelectionResultController.class).executeQpuSelectionResult(dto.getId())).withRel(Constants.EXECUTION));
+        for (UUID executionResultId : executionResultIds) {
+            dto.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResult(executionResultId))
+                .withRel(Constants.EXECUTION + "-" + executionResultId));
         }
         return dto;
     }
 
-    private QpuSelectionJobDto createJobDto(QpuSelectionJob job) {
-        QpuSelectionJobDto dto = QpuSelectionJobDto.Converter.convert(job);
+    private QpuSelectionJobDto createJobDto(QpuSelectionJob job, boolean withResults) {
+        QpuSelectionJobDto dto = QpuSelectionJobDto.Converter.convert(job, withResults);
         dto.add(linkTo(methodOn(QpuSelectionResultController.class).getQpuSelectionJob(job.getId())).withSelfRel());
         return dto;
     }
@@ -22,7 +22,6 @@ package org.planqk.nisq.analyzer.core.web.controller;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
-import java.io.File;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
@@ -32,12 +31,18 @@ import java.util.stream.Collectors;
 
 import org.planqk.nisq.analyzer.core.Constants;
 import org.planqk.nisq.analyzer.core.control.NisqAnalyzerControlService;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.http.TokenManager;
 import org.planqk.nisq.analyzer.core.model.AnalysisJob;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
 import org.planqk.nisq.analyzer.core.model.CompilationJob;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionJob;
 import org.planqk.nisq.analyzer.core.repository.AnalysisJobRepository;
 import org.planqk.nisq.analyzer.core.repository.CompilationJobRepository;
 import org.planqk.nisq.analyzer.core.repository.QpuSelectionJobRepository;
+import org.planqk.nisq.analyzer.core.scheduler.JobQueueFullException;
+import org.planqk.nisq.analyzer.core.scheduler.JobScheduler;
+import org.planqk.nisq.analyzer.core.scheduler.JobType;
 import org.planqk.nisq.analyzer.core.web.Utils;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.AnalysisJobDto;
 import org.planqk.nisq.analyzer.core.web.dtos.entities.CompilationJobDto;
@@ -85,14 +90,26 @@ public class RootController {
 
     private final QpuSelectionJobRepository qpuSelectionJobRepository;
 
+    private final JobScheduler jobScheduler;
+
+    private final TokenManager tokenManager;
+
+    private final HttpClientService httpClientService;
+
     public RootController(NisqAnalyzerControlService nisqAnalyzerService,
                           CompilationJobRepository compilationJobRepository,
                           AnalysisJobRepository analysisJobRepository,
-                          QpuSelectionJobRepository qpuSelectionJobRepository) {
+                          QpuSelectionJobRepository qpuSelectionJobRepository,
+                          JobScheduler jobScheduler,
+                          TokenManager tokenManager,
+                          HttpClientService httpClientService) {
         this.nisqAnalyzerService = nisqAnalyzerService;
         this.compilationJobRepository = compilationJobRepository;
         this.analysisJobRepository = analysisJobRepository;
         this.qpuSelectionJobRepository = qpuSelectionJobRepository;
+        this.jobScheduler = jobScheduler;
+        this.tokenManager = tokenManager;
+        this.httpClientService = httpClientService;
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200")}, description = "Root operation, returns further links")
@@ -109,8 +126,9 @@ public class RootController {
         responseEntity
                 .add(linkTo(methodOn(RootController.class).selectCompilerForFile(null, null, null, null, null, null))
                         .withRel(Constants.COMPILER_SELECTION));
-        responseEntity.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults()).withRel(Constants.COMPILER_RESULTS));
-        responseEntity.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(null)).withRel(Constants.EXECUTION_RESULTS));
+        responseEntity.add(linkTo(methodOn(CompilerAnalysisResultController.class).getCompilerAnalysisResults(null, null, null, null, null, null))
+                .withRel(Constants.COMPILER_RESULTS));
+        responseEntity.add(linkTo(methodOn(ExecutionResultController.class).getExecutionResults(null, null)).withRel(Constants.EXECUTION_RESULTS));
 
         return new ResponseEntity<>(responseEntity, HttpStatus.OK);
     }
@@ -139,7 +157,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-            @ApiResponse(responseCode = "500", content = @Content)}, description = "Select implementations for an algorithm")
+            @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+            description = "Select implementations for an algorithm")
     @PostMapping("/" + Constants.SELECTION)
     public HttpEntity<AnalysisJobDto> selectImplementations(@RequestBody SelectionRequestDto params) {
         LOG.debug("Post to select implementations for algorithm with Id {} received.", params.getAlgorithmId());
@@ -162,9 +181,12 @@ public class RootController {
         analysisJobRepository.save(job);
 
         try {
-            new Thread(() -> {
-                nisqAnalyzerService.performSelection(job, params.getAlgorithmId(), params.getParameters(), params.getRefreshToken());
-            }).start();
+            jobScheduler.submit(JobType.ANALYSIS, () ->
+                    nisqAnalyzerService.performSelection(job, params.getAlgorithmId(), params.getParameters(), params.getRefreshToken()),
+                    () -> nisqAnalyzerService.markFailed(job));
+        } catch (JobQueueFullException e) {
+            analysisJobRepository.delete(job);
+            return new ResponseEntity(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
         } catch (UnsatisfiedLinkError e) {
             LOG.error(
                     "UnsatisfiedLinkError while activating prolog rule. Please make sure prolog is installed and configured correctly to use the NISQ analyzer functionality!",
@@ -178,7 +200,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-            @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable quantum computer for a quantum circuit passed in as file")
+            @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+            description = "Select the most suitable quantum computer for a quantum circuit passed in as file")
     @PostMapping(value = "/" + Constants.QPU_SELECTION, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public HttpEntity<QpuSelectionJobDto> selectQpuForCircuitFile(@RequestParam boolean simulatorsAllowed,
                                                                   @RequestParam List<String> allowedProviders, @RequestParam String circuitLanguage,
@@ -186,9 +209,9 @@ public class RootController {
                                                                   @RequestParam(required = false) String circuitName) {
         LOG.debug("Post to select QPU for given quantum circuit with language: {}", circuitLanguage);
 
-        // get temp file for passed circuit code
-        File circuitFile = Utils.getFileObjectFromMultipart(circuitCode);
-        if (Objects.isNull(circuitFile)) {
+        // read passed circuit code into memory
+        CircuitPayload circuit = Utils.getCircuitFromMultipart(circuitCode, circuitLanguage);
+        if (Objects.isNull(circuit)) {
             return new ResponseEntity("Unable to parse file from given data", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
@@ -203,11 +226,14 @@ public class RootController {
         }
 
         qpuSelectionJobRepository.save(job);
-        new Thread(() -> {
-            nisqAnalyzerService
-                    .performQpuSelectionForCircuit(job, allowedProviders, circuitLanguage, circuitFile,
-                            tokens, simulatorsAllowed, circuitName);
-        }).start();
+        try {
+            jobScheduler.submit(JobType.QPU_SELECTION, () -> nisqAnalyzerService
+                    .performQpuSelectionForCircuit(job, allowedProviders, circuit,
+                            tokens, simulatorsAllowed, circuitName), () -> nisqAnalyzerService.markFailed(job));
+        } catch (JobQueueFullException e) {
+            qpuSelectionJobRepository.delete(job);
+            return new ResponseEntity(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back QPU selection job to track the progress
         QpuSelectionJobDto dto = QpuSelectionJobDto.Converter.convert(job);
@@ -216,14 +242,16 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-            @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable quantum computer for a quantum circuit loaded from the given URL")
+            @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+            description = "Select the most suitable quantum computer for a quantum circuit loaded from the given URL")
     @PostMapping(value = "/" + Constants.QPU_SELECTION, consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public HttpEntity<QpuSelectionJobDto> selectQpuForCircuitUrl(@RequestBody QpuSelectionDto params) {
         LOG.debug("Post to select QPU for quantum circuit at URL '{}', with language '{}', and allowed providers '{}'!", params.getCircuitUrl(), params.getCircuitLanguage(), params.getAllowedProviders());
 
-        // get file from passed URL
-        File circuitFile = Utils.getFileObjectFromUrl(params.getCircuitUrl(), params.getRefreshToken());
-        if (Objects.isNull(circuitFile)) {
+        // load circuit from passed URL
+        CircuitPayload circuit = Utils.getCircuitFromUrl(params.getCircuitUrl(), params.getRefreshToken(), params.getCircuitLanguage(),
+                tokenManager, httpClientService);
+        if (Objects.isNull(circuit)) {
             return new ResponseEntity("Unable to load file from given URL", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
@@ -238,11 +266,14 @@ public class RootController {
         }
 
         qpuSelectionJobRepository.save(job);
-        new Thread(() -> {
-            nisqAnalyzerService
-                    .performQpuSelectionForCircuit(job, params.getAllowedProviders(), params.getCircuitLanguage(), circuitFile,
-                            params.getTokens(), params.isSimulatorsAllowed(), params.getCircuitName());
-        }).start();
+        try {
+            jobScheduler.submit(JobType.QPU_SELECTION, () -> nisqAnalyzerService
+                    .performQpuSelectionForCircuit(job, params.getAllowedProviders(), circuit,
+                            params.getTokens(), params.isSimulatorsAllowed(), params.getCircuitName()), () -> nisqAnalyzerService.markFailed(job));
+        } catch (JobQueueFullException e) {
+            qpuSelectionJobRepository.delete(job);
+            return new ResponseEntity(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back QPU selection job to track the progress
         QpuSelectionJobDto dto = QpuSelectionJobDto.Converter.convert(job);
@@ -251,26 +282,30 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-            @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable compiler for an implementation passed in as file")
+            @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+            description = "Select the most suitable compiler for an implementation passed in as file")
     @PostMapping(value = "/" + Constants.COMPILER_SELECTION, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public HttpEntity<CompilationJobDto> selectCompilerForFile(@RequestParam String providerName, @RequestParam String qpuName,
                                                                @RequestParam String circuitLanguage, @RequestParam String circuitName,
                                                                @RequestParam String token,
                                                                @RequestParam("circuit") MultipartFile circuitCode) {
 
-        // get temp file for passed circuit code
-        File circuitFile = Utils.getFileObjectFromMultipart(circuitCode);
-        if (Objects.isNull(circuitFile)) {
+        // read passed circuit code into memory
+        CircuitPayload circuit = Utils.getCircuitFromMultipart(circuitCode, circuitLanguage.toLowerCase());
+        if (Objects.isNull(circuit)) {
             return new ResponseEntity("Unable to parse file from given data", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
         // create object for the compilation job and call asynchronously to update the job
         CompilationJob job = compilationJobRepository.save(new CompilationJob());
-        new Thread(() -> {
-            nisqAnalyzerService
-                    .performCompilerSelection(job, providerName.toLowerCase(), qpuName.toLowerCase(), circuitLanguage.toLowerCase(), circuitFile,
-                            circuitName, null, token);
-        }).start();
+        try {
+            jobScheduler.submit(JobType.COMPILATION, () -> nisqAnalyzerService
+                    .performCompilerSelection(job, providerName.toLowerCase(), qpuName.toLowerCase(), circuit, circuitName, null, token),
+                    () -> nisqAnalyzerService.markFailed(job));
+        } catch (JobQueueFullException e) {
+            compilationJobRepository.delete(job);
+            return new ResponseEntity(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back compilation job
         CompilationJobDto dto = CompilationJobDto.Converter.convert(job);
@@ -279,7 +314,8 @@ public class RootController {
     }
 
     @Operation(responses = {@ApiResponse(responseCode = "200"), @ApiResponse(responseCode = "400", content = @Content),
-            @ApiResponse(responseCode = "500", content = @Content)}, description = "Select the most suitable compiler for an implementation loaded from the given URL")
+            @ApiResponse(responseCode = "429", content = @Content), @ApiResponse(responseCode = "500", content = @Content)},
+            description = "Select the most suitable compiler for an implementation loaded from the given URL")
     @PostMapping(value = "/" + Constants.COMPILER_SELECTION, consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public HttpEntity<CompilationJobDto> selectCompilerForUrl(@RequestBody CompilerSelectionDto compilerSelectionDto) {
 
@@ -289,21 +325,24 @@ public class RootController {
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
-        // get file from passed URL
-        File circuitFile = Utils.getFileObjectFromUrl(compilerSelectionDto.getCircuitUrl(), compilerSelectionDto.getRefreshToken());
-        if (Objects.isNull(circuitFile)) {
+        // load circuit from passed URL
+        CircuitPayload circuit = Utils.getCircuitFromUrl(compilerSelectionDto.getCircuitUrl(), compilerSelectionDto.getRefreshToken(),
+                compilerSelectionDto.getCircuitLanguage().toLowerCase(), tokenManager, httpClientService);
+        if (Objects.isNull(circuit)) {
             return new ResponseEntity("Unable to load file from given URL", HttpStatus.INTERNAL_SERVER_ERROR);
         }
 
         // create object for the compilation job and call asynchronously to update the job
         CompilationJob job = compilationJobRepository.save(new CompilationJob());
-        new Thread(() -> {
-            nisqAnalyzerService
+        try {
+            jobScheduler.submit(JobType.COMPILATION, () -> nisqAnalyzerService
                     .performCompilerSelection(job, compilerSelectionDto.getProviderName().toLowerCase(),
-                            compilerSelectionDto.getQpuName().toLowerCase(),
-                            compilerSelectionDto.getCircuitLanguage().toLowerCase(), circuitFile, compilerSelectionDto.getCircuitName(), null,
-                            compilerSelectionDto.getToken());
-        }).start();
+                            compilerSelectionDto.getQpuName().toLowerCase(), circuit, compilerSelectionDto.getCircuitName(), null,
+                            compilerSelectionDto.getToken()), () -> nisqAnalyzerService.markFailed(job));
+        } catch (JobQueueFullException e) {
+            compilationJobRepository.delete(job);
+            return new ResponseEntity(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+        }
 
         // send back compilation job
         CompilationJobDto dto = CompilationJobDto.Converter.convert(job);
@@ -50,16 +50,34 @@ public class AnalysisJobDto extends AnalysisResultListDto {
     @Setter
     private boolean ready;
 
+    @Getter
+    @Setter
+    private boolean failed;
+
     public static final class Converter {
 
         public static AnalysisJobDto convert(final AnalysisJob object) {
+            return convert(object, true);
+        }
+
+        /**
+         * Convert the given job to a DTO
+         *
+         * @param object      the job to convert
+         * @param withResults true to add the results of the job, false to only convert its metadata, e.g., for listings of jobs
+         * @return the DTO of the job
+         */
+        public static AnalysisJobDto convert(final AnalysisJob object, final boolean withResults) {
             AnalysisJobDto dto = new AnalysisJobDto();
             dto.setId(object.getId());
             dto.setImplementedAlgorithm(object.getImplementedAlgorithm());
             dto.setTime(object.getTime());
             dto.setInputParameters(object.getInputParameters());
             dto.setReady(object.isReady());
-            dto.add(object.getJobResults().stream().map(AnalysisResultDto.Converter::convert).collect(Collectors.toList()));
+            dto.setFailed(object.isFailed());
+            if (withResults) {
+                dto.add(object.getJobResults().stream().map(AnalysisResultDto.Converter::convert).collect(Collectors.toList()));
+            }
 
             return dto;
         }
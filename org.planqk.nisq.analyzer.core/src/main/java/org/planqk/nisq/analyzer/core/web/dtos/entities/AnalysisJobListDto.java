@@ -22,7 +22,10 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
+import lombok.Setter;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
 
 public class AnalysisJobListDto extends RepresentationModel<AnalysisJobListDto> {
@@ -30,6 +33,14 @@ public class AnalysisJobListDto extends RepresentationModel<AnalysisJobListDto>
     @Getter
     private final List<AnalysisJobDto> analysisJobList = new ArrayList<>();
 
+    /**
+     * Metadata of the page if the list contains only a part of all elements
+     */
+    @Getter
+    @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PagedModel.PageMetadata page;
+
     public void add(final List<AnalysisJobDto> jobs) {
         this.analysisJobList.addAll(jobs);
     }
@@ -37,13 +37,29 @@ public class CompilationJobDto extends CompilerAnalysisResultListDto {
     @Setter
     private boolean ready;
 
+    @Getter
+    @Setter
+    private boolean failed;
+
     public static final class Converter {
 
         public static CompilationJobDto convert(final CompilationJob object) {
+            return convert(object, true);
+        }
+
+        /**
+         * Convert the given job to a DTO
+         *
+         * @param object      the job to convert
+         * @param withResults true to add the results of the job, false to only convert its metadata, e.g., for listings of jobs
+         * @return the DTO of the job
+         */
+        public static CompilationJobDto convert(final CompilationJob object, final boolean withResults) {
             CompilationJobDto dto = new CompilationJobDto();
             dto.setId(object.getId());
             dto.setReady(object.isReady());
-            if (object.isReady()) {
+            dto.setFailed(object.isFailed());
+            if (withResults && object.isReady()) {
                 dto.add(object.getJobResults().stream().map(CompilerAnalysisResultDto.Converter::convert).collect(Collectors.toList()));
             }
             return dto;
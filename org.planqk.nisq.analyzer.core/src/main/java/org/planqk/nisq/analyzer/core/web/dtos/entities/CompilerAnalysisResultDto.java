@@ -22,7 +22,9 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
 import org.planqk.nisq.analyzer.core.model.CompilationResult;
+import org.planqk.nisq.analyzer.core.repository.CompilationResultSummary;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.core.Relation;
 
@@ -65,8 +67,21 @@ public class CompilerAnalysisResultDto extends RepresentationModel<CompilerAnaly
             dto.setAnalyzedDepth(object.getAnalyzedDepth());
             dto.setAnalyzedWidth(object.getAnalyzedWidth());
             dto.setCircuitName(object.getCircuitName());
-            dto.setInitialCircuit(object.getInitialCircuit());
-            dto.setTranspiledCircuit(object.getTranspiledCircuit());
+            dto.setInitialCircuit(CircuitBlob.toCircuit(object.getInitialCircuit()));
+            dto.setTranspiledCircuit(CircuitBlob.toCircuit(object.getTranspiledCircuit()));
+            dto.setTime(object.getTime());
+            return dto;
+        }
+
+        public static CompilerAnalysisResultDto convert(final CompilationResultSummary object) {
+            CompilerAnalysisResultDto dto = new CompilerAnalysisResultDto();
+            dto.setId(object.getId());
+            dto.setProvider(object.getProvider());
+            dto.setQpu(object.getQpu());
+            dto.setCompiler(object.getCompiler());
+            dto.setAnalyzedDepth(object.getAnalyzedDepth());
+            dto.setAnalyzedWidth(object.getAnalyzedWidth());
+            dto.setCircuitName(object.getCircuitName());
             dto.setTime(object.getTime());
             return dto;
         }
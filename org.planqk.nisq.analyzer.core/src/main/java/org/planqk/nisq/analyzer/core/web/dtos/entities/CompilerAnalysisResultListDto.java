@@ -22,15 +22,26 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
 
 import lombok.Getter;
+import lombok.Setter;
 
 public class CompilerAnalysisResultListDto extends RepresentationModel<CompilerAnalysisResultListDto> {
 
     @Getter
     private final List<CompilerAnalysisResultDto> compilerAnalysisResultList = new ArrayList<>();
 
+    /**
+     * Metadata of the page if the list contains only a part of all elements
+     */
+    @Getter
+    @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PagedModel.PageMetadata page;
+
     public void add(final List<CompilerAnalysisResultDto> compilerAnalysisResultDtos) {
         this.compilerAnalysisResultList.addAll(compilerAnalysisResultDtos);
     }
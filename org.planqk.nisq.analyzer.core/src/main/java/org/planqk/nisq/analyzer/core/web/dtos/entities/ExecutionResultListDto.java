@@ -22,8 +22,11 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.util.Arrays;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
+import lombok.Setter;
 import org.assertj.core.util.Lists;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.RepresentationModel;
 
 /**
@@ -34,6 +37,14 @@ public class ExecutionResultListDto extends RepresentationModel<ExecutionResultL
     @Getter
     private final List<ExecutionResultDto> executionResultDtos = Lists.newArrayList();
 
+    /**
+     * Metadata of the page if the list contains only a part of all elements
+     */
+    @Getter
+    @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PagedModel.PageMetadata page;
+
     public void add(final ExecutionResultDto... executionResults) {
         this.executionResultDtos.addAll(Arrays.asList(executionResults));
     }
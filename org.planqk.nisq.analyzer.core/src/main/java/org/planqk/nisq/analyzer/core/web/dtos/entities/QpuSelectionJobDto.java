@@ -46,15 +46,31 @@ public class QpuSelectionJobDto extends QpuSelectionResultListDto {
     @Setter
     private boolean ready;
 
+    @Getter
+    @Setter
+    private boolean failed;
+
     public static final class Converter {
 
         public static QpuSelectionJobDto convert(final QpuSelectionJob object) {
+            return convert(object, true);
+        }
+
+        /**
+         * Convert the given job to a DTO
+         *
+         * @param object      the job to convert
+         * @param withResults true to add the results of the job, false to only convert its metadata, e.g., for listings of jobs
+         * @return the DTO of the job
+         */
+        public static QpuSelectionJobDto convert(final QpuSelectionJob object, final boolean withResults) {
             QpuSelectionJobDto dto = new QpuSelectionJobDto();
             dto.setId(object.getId());
             dto.setTime(object.getTime());
             dto.setCircuitName(object.getCircuitName());
             dto.setReady(object.isReady());
-            if (object.isReady()) {
+            dto.setFailed(object.isFailed());
+            if (withResults && object.isReady()) {
                 dto.add(object.getJobResults().stream().map(QpuSelectionResultDto.Converter::convert).collect(Collectors.toList()));
             }
             return dto;
@@ -22,7 +22,9 @@ package org.planqk.nisq.analyzer.core.web.dtos.entities;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+import org.planqk.nisq.analyzer.core.model.CircuitBlob;
 import org.planqk.nisq.analyzer.core.model.QpuSelectionResult;
+import org.planqk.nisq.analyzer.core.repository.QpuSelectionResultSummary;
 import org.springframework.hateoas.RepresentationModel;
 import org.springframework.hateoas.server.core.Relation;
 
@@ -66,7 +68,22 @@ public class QpuSelectionResultDto extends RepresentationModel<QpuSelectionResul
             dto.setQueueSize(object.getQueueSize());
             dto.setTime(object.getTime());
             dto.setCircuitName(object.getCircuitName());
-            dto.setTranspiledCircuit(object.getTranspiledCircuit());
+            dto.setTranspiledCircuit(CircuitBlob.toCircuit(object.getTranspiledCircuit()));
+            dto.setTranspiledLanguage(object.getTranspiledLanguage());
+            dto.setCompiler(object.getUsedCompiler());
+            dto.setAnalyzedDepth(object.getAnalyzedDepth());
+            dto.setAnalyzedWidth(object.getAnalyzedWidth());
+            return dto;
+        }
+
+        public static QpuSelectionResultDto convert(final QpuSelectionResultSummary object) {
+            QpuSelectionResultDto dto = new QpuSelectionResultDto();
+            dto.setId(object.getId());
+            dto.setProvider(object.getProvider());
+            dto.setQpu(object.getQpu());
+            dto.setQueueSize(object.getQueueSize());
+            dto.setTime(object.getTime());
+            dto.setCircuitName(object.getCircuitName());
             dto.setTranspiledLanguage(object.getTranspiledLanguage());
             dto.setCompiler(object.getUsedCompiler());
             dto.setAnalyzedDepth(object.getAnalyzedDepth());
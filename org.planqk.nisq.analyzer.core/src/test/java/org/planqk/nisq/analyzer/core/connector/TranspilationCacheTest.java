@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.connector;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
+import org.planqk.nisq.analyzer.core.model.DataType;
+import org.planqk.nisq.analyzer.core.model.Implementation;
+import org.planqk.nisq.analyzer.core.model.ParameterValue;
+import org.planqk.nisq.analyzer.core.model.Qpu;
+import org.planqk.nisq.analyzer.core.repository.TranspilationCacheEntryRepository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TranspilationCacheTest {
+
+    private SdkConnector connector;
+
+    private TranspilationCache transpilationCache;
+
+    private Qpu qpu;
+
+    @Before
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        transpilationCache = new TranspilationCache(mock(TranspilationCacheEntryRepository.class), 100, 3600, false, meterRegistry,
+                new SdkConnectorMetrics(meterRegistry));
+
+        connector = mock(SdkConnector.class);
+        when(connector.getName()).thenReturn("qiskit");
+        when(connector.getCircuitProperties(any(CircuitPayload.class), anyString(), anyString(), anyMap()))
+                .thenReturn(new CircuitInformation(10, 5, "circuit", Constants.OPENQASM, null));
+        when(connector.getCircuitProperties(any(Implementation.class), anyString(), anyString(), anyMap(), any()))
+                .thenReturn(new CircuitInformation(10, 5, "circuit", Constants.OPENQASM, null));
+
+        qpu = createQpu(100.0f);
+    }
+
+    @Test
+    public void cacheKeyContainsTokenHash() {
+        Assertions.assertEquals(createCacheKey(parameters("first-token"), qpu), createCacheKey(parameters("first-token"), qpu));
+        Assertions.assertNotEquals(createCacheKey(parameters("first-token"), qpu), createCacheKey(parameters("second-token"), qpu));
+        Assertions.assertNotEquals(createCacheKey(parameters("first-token"), qpu), createCacheKey(new HashMap<>(), qpu));
+        Assertions.assertEquals(createCacheKey(parameters(null), qpu), createCacheKey(new HashMap<>(), qpu));
+    }
+
+    @Test
+    public void cacheKeyContainsCalibrationFingerprint() {
+        Assertions.assertNotEquals(createCacheKey(parameters("token"), qpu), createCacheKey(parameters("token"), createQpu(120.0f)));
+
+        Qpu simulator = createQpu(100.0f);
+        simulator.setSimulator(true);
+        Assertions.assertNotEquals(createCacheKey(parameters("token"), qpu), createCacheKey(parameters("token"), simulator));
+    }
+
+    @Test
+    public void cacheKeyContainsParameters() {
+        Map<String, ParameterValue> otherParameters = parameters("token");
+        otherParameters.put("N", new ParameterValue(DataType.Integer, "21"));
+        Assertions.assertNotEquals(createCacheKey(parameters("token"), qpu), createCacheKey(otherParameters, qpu));
+    }
+
+    @Test
+    public void compilationIsCachedPerToken() {
+        CircuitPayload circuit = CircuitPayload.of("OPENQASM 2.0;".getBytes(StandardCharsets.UTF_8), Constants.OPENQASM);
+
+        transpilationCache.getCircuitProperties(connector, "qiskit", circuit, "ibmq", qpu.getName(), qpu, parameters("first-token"));
+        transpilationCache.getCircuitProperties(connector, "qiskit", circuit, "ibmq", qpu.getName(), qpu, parameters("first-token"));
+        verify(connector, times(1)).getCircuitProperties(any(CircuitPayload.class), anyString(), anyString(), anyMap());
+
+        transpilationCache.getCircuitProperties(connector, "qiskit", circuit, "ibmq", qpu.getName(), qpu, parameters("second-token"));
+        verify(connector, times(2)).getCircuitProperties(any(CircuitPayload.class), anyString(), anyString(), anyMap());
+
+        transpilationCache.getCircuitProperties(connector, "qiskit", circuit, "ibmq", qpu.getName(), createQpu(120.0f), parameters("first-token"));
+        verify(connector, times(3)).getCircuitProperties(any(CircuitPayload.class), anyString(), anyString(), anyMap());
+    }
+
+    @Test
+    public void invalidateRemovesResultsOfImplementation() throws Exception {
+        Implementation implementation = createImplementation("https://example.org/shor.py");
+
+        transpilationCache.getCircuitProperties(connector, implementation, qpu, parameters("token"), "");
+        transpilationCache.getCircuitProperties(connector, implementation, qpu, parameters("token"), "");
+        verify(connector, times(1)).getCircuitProperties(any(Implementation.class), anyString(), anyString(), anyMap(), any());
+
+        transpilationCache.invalidate(implementation.getId());
+        transpilationCache.getCircuitProperties(connector, implementation, qpu, parameters("token"), "");
+        verify(connector, times(2)).getCircuitProperties(any(Implementation.class), anyString(), anyString(), anyMap(), any());
+    }
+
+    @Test
+    public void implementationOnPlatformIsNotCached() throws Exception {
+        Implementation implementation = createImplementation("https://" + Constants.PLANQK_PLATFORM_HOST + "/files/shor.py");
+
+        transpilationCache.getCircuitProperties(connector, implementation, qpu, parameters("token"), "refresh-token");
+        transpilationCache.getCircuitProperties(connector, implementation, qpu, parameters("token"), "");
+        verify(connector, times(2)).getCircuitProperties(any(Implementation.class), anyString(), anyString(), anyMap(), any());
+    }
+
+    private String createCacheKey(Map<String, ParameterValue> parameters, Qpu qpu) {
+        return TranspilationCache.createCacheKey("circuit-hash", Constants.OPENQASM, parameters, "qiskit", "qiskit", "ibmq", qpu);
+    }
+
+    private Map<String, ParameterValue> parameters(String token) {
+        Map<String, ParameterValue> parameters = new HashMap<>();
+        parameters.put(Constants.TOKEN_PARAMETER, new ParameterValue(DataType.Unknown, token));
+        return parameters;
+    }
+
+    private Qpu createQpu(float t1) {
+        Qpu qpu = new Qpu();
+        qpu.setName("ibmq_lima");
+        qpu.setProvider("ibmq");
+        qpu.setQubitCount(5);
+        qpu.setT1(t1);
+        qpu.setMaxGateTime(0.5f);
+        return qpu;
+    }
+
+    private Implementation createImplementation(String fileLocation) throws Exception {
+        Implementation implementation = new Implementation();
+        implementation.setId(UUID.randomUUID());
+        implementation.setName("shor");
+        implementation.setLanguage(Constants.OPENQASM);
+        implementation.setFileLocation(new URL(fileLocation));
+        return implementation;
+    }
+}
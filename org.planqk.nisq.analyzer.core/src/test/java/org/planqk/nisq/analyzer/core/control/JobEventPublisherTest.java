@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class JobEventPublisherTest {
+
+    private final JobEventPublisher jobEventPublisher = new JobEventPublisher(60);
+
+    private final UUID jobId = UUID.randomUUID();
+
+    // results converted for the subscriber, i.e., sent to the client
+    private final List<String> sentResults = new ArrayList<>();
+
+    @Test
+    public void failureClosesSubscriptions() {
+        jobEventPublisher.subscribe(jobId, this::convert);
+        jobEventPublisher.publishResult(jobId, "first");
+
+        jobEventPublisher.publishFailed(jobId);
+        jobEventPublisher.publishResult(jobId, "second");
+
+        Assertions.assertEquals(1, sentResults.size());
+    }
+
+    @Test
+    public void failureOnlyClosesSubscriptionsOfJob() {
+        UUID otherJobId = UUID.randomUUID();
+        jobEventPublisher.subscribe(jobId, this::convert);
+        jobEventPublisher.subscribe(otherJobId, this::convert);
+
+        jobEventPublisher.publishFailed(jobId);
+        jobEventPublisher.publishResult(jobId, "failed job");
+        jobEventPublisher.publishResult(otherJobId, "running job");
+
+        Assertions.assertEquals(1, sentResults.size());
+        Assertions.assertEquals("running job", sentResults.get(0));
+    }
+
+    private String convert(String result) {
+        sentResults.add(result);
+        return result;
+    }
+}
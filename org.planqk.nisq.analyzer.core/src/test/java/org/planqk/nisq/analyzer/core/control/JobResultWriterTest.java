@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.control;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.planqk.nisq.analyzer.core.model.AnalysisResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JobResultWriterTest {
+
+    private final UUID jobId = UUID.randomUUID();
+
+    private final List<AnalysisResult> jobResults = new ArrayList<>();
+
+    private final AtomicInteger jobSaves = new AtomicInteger();
+
+    // current time in milliseconds as seen by the writer
+    private final AtomicLong time = new AtomicLong();
+
+    // sizes of the batches passed to the repository, recorded when saving as the writer reuses its buffer
+    private final List<Integer> batchSizes = new ArrayList<>();
+
+    private JpaRepository<AnalysisResult, UUID> resultRepository;
+
+    private JobEventPublisher jobEventPublisher;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        resultRepository = mock(JpaRepository.class);
+        when(resultRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<AnalysisResult> batch = new ArrayList<>(invocation.<Collection<AnalysisResult>>getArgument(0));
+            batchSizes.add(batch.size());
+            return batch;
+        });
+        jobEventPublisher = mock(JobEventPublisher.class);
+    }
+
+    @Test
+    public void resultsAreStoredWhenBatchIsFull() {
+        JobResultWriter<AnalysisResult> writer = createWriter(3, 3600000);
+
+        writer.add(new AnalysisResult());
+        writer.add(new AnalysisResult());
+        verify(resultRepository, never()).saveAll(anyIterable());
+        Assertions.assertTrue(jobResults.isEmpty());
+        Assertions.assertEquals(0, jobSaves.get());
+
+        writer.add(new AnalysisResult());
+        Assertions.assertEquals(Collections.singletonList(3), batchSizes);
+        Assertions.assertEquals(3, jobResults.size());
+        Assertions.assertEquals(1, jobSaves.get());
+        verify(jobEventPublisher, times(3)).publishResult(eq(jobId), any());
+
+        writer.add(new AnalysisResult());
+        Assertions.assertEquals(Collections.singletonList(3), batchSizes);
+        Assertions.assertEquals(3, jobResults.size());
+    }
+
+    @Test
+    public void resultsAreStoredWhenFlushIntervalElapsed() {
+        JobResultWriter<AnalysisResult> writer = createWriter(100, 50);
+
+        writer.add(new AnalysisResult());
+        time.addAndGet(49);
+        writer.add(new AnalysisResult());
+        verify(resultRepository, never()).saveAll(anyIterable());
+
+        time.addAndGet(1);
+        writer.add(new AnalysisResult());
+        Assertions.assertEquals(Collections.singletonList(3), batchSizes);
+        Assertions.assertEquals(3, jobResults.size());
+        Assertions.assertEquals(1, jobSaves.get());
+        verify(jobEventPublisher, times(3)).publishResult(eq(jobId), any());
+    }
+
+    @Test
+    public void flushStoresRemainingResultsWithSingleJobSave() {
+        JobResultWriter<AnalysisResult> writer = createWriter(10, 3600000);
+        writer.add(new AnalysisResult());
+        writer.add(new AnalysisResult());
+
+        writer.flush();
+        Assertions.assertEquals(Collections.singletonList(2), batchSizes);
+        Assertions.assertEquals(2, jobResults.size());
+        Assertions.assertEquals(1, jobSaves.get());
+        verify(jobEventPublisher, times(2)).publishResult(eq(jobId), any());
+
+        // nothing is stored or published without new results
+        writer.flush();
+        Assertions.assertEquals(Collections.singletonList(2), batchSizes);
+        Assertions.assertEquals(1, jobSaves.get());
+        verify(jobEventPublisher, times(2)).publishResult(eq(jobId), any());
+    }
+
+    private JobResultWriter<AnalysisResult> createWriter(int batchSize, long flushInterval) {
+        return new JobResultWriter<>(jobId, jobResults, resultRepository, jobSaves::incrementAndGet, jobEventPublisher, batchSize, flushInterval,
+                time::get);
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TokenManagerTest {
+
+    final private static long EXPIRY_MARGIN = 30;
+
+    private RestTemplate restTemplate;
+
+    private HttpClientService httpClientService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        httpClientService = mock(HttpClientService.class);
+        when(httpClientService.getRestTemplate(anyString())).thenReturn(restTemplate);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void concurrentRequestsShareOneExchange() throws Exception {
+        TokenManager tokenManager = createTokenManager(10);
+        CountDownLatch exchangeStarted = new CountDownLatch(1);
+        CountDownLatch releaseExchange = new CountDownLatch(1);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class))).thenAnswer(invocation -> {
+            exchangeStarted.countDown();
+            releaseExchange.await(5, TimeUnit.SECONDS);
+            return tokenResponse("bearer", 3600);
+        });
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> tokenManager.getBearerToken("refresh"));
+        Assertions.assertTrue(exchangeStarted.await(5, TimeUnit.SECONDS));
+
+        // the second caller has to await the pending exchange of the first caller
+        CompletableFuture<String> second = new CompletableFuture<>();
+        Thread waitingThread = new Thread(() -> second.complete(tokenManager.getBearerToken("refresh")));
+        waitingThread.start();
+        while (waitingThread.getState() != Thread.State.WAITING && !second.isDone()) {
+            Thread.sleep(10);
+        }
+        Assertions.assertFalse(second.isDone());
+        releaseExchange.countDown();
+
+        Assertions.assertEquals("bearer", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("bearer", second.get(5, TimeUnit.SECONDS));
+        verify(restTemplate, times(1)).postForEntity(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    public void failedExchangesAreNotCached() {
+        TokenManager tokenManager = createTokenManager(10);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenThrow(new ResourceAccessException("auth server unavailable"))
+                .thenReturn(new ResponseEntity<>("{\"error\": \"invalid_grant\", \"error_description\": \"Token is not active\"}", HttpStatus.OK))
+                .thenReturn(tokenResponse("bearer", 3600));
+
+        Assertions.assertEquals("", tokenManager.getBearerToken("refresh"));
+        Assertions.assertEquals("", tokenManager.getBearerToken("refresh"));
+        Assertions.assertEquals("bearer", tokenManager.getBearerToken("refresh"));
+
+        // the successful exchange is cached
+        Assertions.assertEquals("bearer", tokenManager.getBearerToken("refresh"));
+        verify(restTemplate, times(3)).postForEntity(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    public void tokensExpiringWithinMarginAreRenewed() {
+        TokenManager tokenManager = createTokenManager(10);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+                .thenReturn(tokenResponse("short-lived", EXPIRY_MARGIN - 10))
+                .thenReturn(tokenResponse("long-lived", EXPIRY_MARGIN + 3600));
+
+        Assertions.assertEquals("short-lived", tokenManager.getBearerToken("refresh"));
+        Assertions.assertEquals("long-lived", tokenManager.getBearerToken("refresh"));
+        Assertions.assertEquals("long-lived", tokenManager.getBearerToken("refresh"));
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(), eq(String.class));
+    }
+
+    @Test
+    public void leastRecentlyUsedTokenIsEvictedAtCacheSize() {
+        TokenManager tokenManager = createTokenManager(2);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class))).thenReturn(tokenResponse("bearer", 3600));
+
+        tokenManager.getBearerToken("first");
+        tokenManager.getBearerToken("second");
+        tokenManager.getBearerToken("first");
+        Assertions.assertEquals(2, cachedTokens());
+        verify(restTemplate, times(2)).postForEntity(anyString(), any(), eq(String.class));
+
+        // valid tokens are evicted as well once the cache size is reached, starting with the least recently used one
+        tokenManager.getBearerToken("third");
+        Assertions.assertEquals(2, cachedTokens());
+        tokenManager.getBearerToken("first");
+        verify(restTemplate, times(3)).postForEntity(anyString(), any(), eq(String.class));
+        tokenManager.getBearerToken("second");
+        verify(restTemplate, times(4)).postForEntity(anyString(), any(), eq(String.class));
+    }
+
+    private TokenManager createTokenManager(int cacheSize) {
+        return new TokenManager("http://localhost/token", "client", EXPIRY_MARGIN, cacheSize, httpClientService, meterRegistry);
+    }
+
+    private double cachedTokens() {
+        return meterRegistry.get("nisq.auth.tokens.cached").gauge().value();
+    }
+
+    private static ResponseEntity<String> tokenResponse(String accessToken, long expiresIn) {
+        return new ResponseEntity<>(String.format("{\"access_token\": \"%s\", \"expires_in\": %d}", accessToken, expiresIn), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.knowledge.prolog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jpl7.Term;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.planqk.nisq.analyzer.core.model.QpuSuitabilityCheck;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PrologQueryEngineTest {
+
+    final private static String RULE = "processable(N) :- N > 3.";
+
+    private PrologKnowledgeBaseHandler prologKnowledgeBaseHandler;
+
+    private PrologQueryEngine prologQueryEngine;
+
+    @Before
+    public void setUp() {
+        prologKnowledgeBaseHandler = mock(PrologKnowledgeBaseHandler.class);
+        prologQueryEngine = new PrologQueryEngine(prologKnowledgeBaseHandler, 10, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void evaluationResultsAreCached() {
+        when(prologKnowledgeBaseHandler.evaluate(any(Term.class))).thenReturn(false);
+        UUID implementationId = UUID.randomUUID();
+        Map<String, String> params = Collections.singletonMap("N", "5");
+
+        Assertions.assertFalse(prologQueryEngine.checkExecutability(implementationId, RULE, params));
+        Assertions.assertFalse(prologQueryEngine.checkExecutability(implementationId, RULE, params));
+        verify(prologKnowledgeBaseHandler, times(1)).evaluate(any(Term.class));
+    }
+
+    @Test
+    public void failedEvaluationsAreNotCached() {
+        when(prologKnowledgeBaseHandler.evaluate(any(Term.class))).thenReturn(null, true);
+        UUID implementationId = UUID.randomUUID();
+        Map<String, String> params = Collections.singletonMap("N", "5");
+
+        Assertions.assertFalse(prologQueryEngine.checkExecutability(implementationId, RULE, params));
+        Assertions.assertTrue(prologQueryEngine.checkExecutability(implementationId, RULE, params));
+        Assertions.assertTrue(prologQueryEngine.checkExecutability(implementationId, RULE, params));
+        verify(prologKnowledgeBaseHandler, times(2)).evaluate(any(Term.class));
+    }
+
+    @Test
+    public void suitableChecksArePassedAsSoonAsTheyAreFound() {
+        List<QpuSuitabilityCheck> checks = Arrays.asList(createCheck(), createCheck(), createCheck());
+        List<Integer> handledIndices = new ArrayList<>();
+
+        // indices handled before the query returns its second solution
+        List<Integer> handledAfterFirstSolution = new ArrayList<>();
+        when(prologKnowledgeBaseHandler.doesPrologFileExist(anyString())).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<Map<String, Term>> consumer = invocation.getArgument(1);
+            consumer.accept(Collections.singletonMap("Index", new org.jpl7.Integer(2)));
+            handledAfterFirstSolution.addAll(handledIndices);
+            consumer.accept(Collections.singletonMap("Index", new org.jpl7.Integer(0)));
+            return true;
+        }).when(prologKnowledgeBaseHandler).forEachSolution(any(Term.class), any());
+
+        Assertions.assertTrue(prologQueryEngine.getSuitableQpus(checks, handledIndices::add));
+        Assertions.assertEquals(Collections.singletonList(2), handledAfterFirstSolution);
+        Assertions.assertEquals(Arrays.asList(2, 0), handledIndices);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(checks.get(0), checks.get(2))), prologQueryEngine.getSuitableQpus(checks));
+        verify(prologKnowledgeBaseHandler, times(2)).forEachSolution(any(Term.class), any());
+    }
+
+    private static QpuSuitabilityCheck createCheck() {
+        return new QpuSuitabilityCheck(UUID.randomUUID(), UUID.randomUUID(), 5, 10);
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.knowledge.prolog;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jpl7.Atom;
+import org.jpl7.Term;
+import org.jpl7.Util;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class PrologUtilityTest {
+
+    @Test
+    public void argumentsWithCommonPrefixAreSeparated() {
+        String rule = "processable(N, NN) :- N > NN.";
+
+        Assertions.assertEquals(Arrays.asList("N", "NN"), PrologUtility.getArgumentsOfRule(rule));
+        Assertions.assertEquals(Arrays.asList("N", "NN"), PrologUtility.getVariablesForPrologRule(rule));
+        Assertions.assertEquals(2, PrologUtility.getNumberOfParameters(rule));
+    }
+
+    @Test
+    public void quotedAtomsDoNotSeparateArguments() {
+        String rule = "rule(A, 'a,b', 'x)y', 'it''s') :- true.";
+
+        Assertions.assertEquals(Arrays.asList("A", "'a,b'", "'x)y'", "'it''s'"), PrologUtility.getArgumentsOfRule(rule));
+        Assertions.assertEquals(Collections.singletonList("A"), PrologUtility.getVariablesForPrologRule(rule));
+    }
+
+    @Test
+    public void nestedListsAndCompoundTermsDoNotSeparateArguments() {
+        String rule = "rule(A, [1, [2, 3]], f(g(x, y), [z]), B) :- true.";
+
+        Assertions.assertEquals(Arrays.asList("A", "[1, [2, 3]]", "f(g(x, y), [z])", "B"), PrologUtility.getArgumentsOfRule(rule));
+        Assertions.assertEquals(Arrays.asList("A", "B"), PrologUtility.getVariablesForPrologRule(rule));
+    }
+
+    @Test
+    public void invalidRulesHaveNoArguments() {
+        Assertions.assertNull(PrologUtility.getArgumentsOfRule("rule :- true."));
+        Assertions.assertNull(PrologUtility.getArgumentsOfRule("Rule(A) :- true."));
+        Assertions.assertNull(PrologUtility.getArgumentsOfRule("rule(A, 'b) :- true."));
+        Assertions.assertNull(PrologUtility.getArgumentsOfRule("rule(A, [B) :- true."));
+        Assertions.assertEquals(0, PrologUtility.getNumberOfParameters("rule(A, [B"));
+        Assertions.assertTrue(PrologUtility.getVariablesForPrologRule("rule :- true.").isEmpty());
+    }
+
+    @Test
+    public void numbersAreConvertedToNumberTerms() {
+        Assertions.assertEquals(15, PrologUtility.toTerm(" 15 ").intValue());
+        Assertions.assertEquals(-3, PrologUtility.toTerm("-3").longValue());
+        Assertions.assertEquals(new BigInteger("123456789012345678901234567890"),
+                PrologUtility.toTerm("123456789012345678901234567890").bigValue());
+        Assertions.assertEquals(2.5, PrologUtility.toTerm("2.5").doubleValue());
+        Assertions.assertEquals(1.0e-3, PrologUtility.toTerm("1.0e-3").doubleValue());
+    }
+
+    @Test
+    public void atomsAreUnquoted() {
+        assertAtom("qasm", PrologUtility.toTerm("qasm"));
+        assertAtom("a,b", PrologUtility.toTerm("'a,b'"));
+        assertAtom("x)y", PrologUtility.toTerm("'x)y'"));
+        assertAtom("it's", PrologUtility.toTerm("'it''s'"));
+        assertAtom("IBMQ", PrologUtility.toTerm("'IBMQ'"));
+    }
+
+    @Test
+    public void listsAreCreatedFromLiterals() {
+        Term[] elements = Util.listToTermArray(PrologUtility.toTerm("[1, 'a,b', [two]]"));
+        Assertions.assertEquals(3, elements.length);
+        Assertions.assertEquals(1, elements[0].intValue());
+        assertAtom("a,b", elements[1]);
+        assertAtom("two", Util.listToTermArray(elements[2])[0]);
+        Assertions.assertEquals(0, Util.listToTermArray(PrologUtility.toTerm("[ ]")).length);
+    }
+
+    @Test
+    public void unbalancedLiteralsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("'open"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("[1, 2"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("[1, 'a]"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("[1], [2]"));
+    }
+
+    @Test
+    public void variablesAndCompoundTermsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("X"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("_"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("_value"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("[1, X]"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("f(x)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrologUtility.toTerm("'a' 'b'"));
+    }
+
+    private static void assertAtom(String name, Term term) {
+        Assertions.assertTrue(term instanceof Atom);
+        Assertions.assertEquals(name, term.name());
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.knowledge.prolog;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jpl7.Term;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+public class SelectionRuleTemplateTest {
+
+    @Test
+    public void variablesWithCommonPrefixAreBoundSeparately() {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile("processable(N, NN) :- N > NN.");
+        Assertions.assertNotNull(template);
+        Assertions.assertEquals("processable", template.getPredicate());
+        Assertions.assertEquals(Arrays.asList("N", "NN"), template.getVariables());
+
+        Map<String, String> params = new HashMap<>();
+        params.put("N", "5");
+        params.put("NN", "12");
+        Term goal = template.createGoal(params);
+
+        Assertions.assertEquals("processable", goal.name());
+        Assertions.assertEquals(2, goal.arity());
+        Assertions.assertEquals(5, goal.arg(1).intValue());
+        Assertions.assertEquals(12, goal.arg(2).intValue());
+    }
+
+    @Test
+    public void constantArgumentsAreKept() {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile("executable(5, A, 'a,b', 'it''s', 2.5, qasm) :- true.");
+        Assertions.assertNotNull(template);
+        Assertions.assertEquals(6, template.getArity());
+        Assertions.assertEquals(Collections.singletonList("A"), template.getVariables());
+
+        Term goal = template.createGoal(Collections.singletonMap("A", "'x)y'"));
+
+        Assertions.assertEquals(5, goal.arg(1).intValue());
+        Assertions.assertEquals("x)y", goal.arg(2).name());
+        Assertions.assertEquals("a,b", goal.arg(3).name());
+        Assertions.assertEquals("it's", goal.arg(4).name());
+        Assertions.assertEquals(2.5, goal.arg(5).doubleValue());
+        Assertions.assertEquals("qasm", goal.arg(6).name());
+    }
+
+    @Test
+    public void nestedArgumentsAreSeparated() {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile("rule(A, B, C) :- member(A, [B, C]).");
+        Assertions.assertNotNull(template);
+        Assertions.assertEquals(Arrays.asList("A", "B", "C"), template.getVariables());
+        Assertions.assertEquals(3, template.getArity());
+    }
+
+    @Test
+    public void invalidRulesAreNotCompiled() {
+        Assertions.assertNull(SelectionRuleTemplate.compile(null));
+        Assertions.assertNull(SelectionRuleTemplate.compile("rule :- true."));
+        Assertions.assertNull(SelectionRuleTemplate.compile("rule(A, , B) :- true."));
+        Assertions.assertNull(SelectionRuleTemplate.compile("rule(A, 'b) :- true."));
+    }
+
+    @Test
+    public void goalIsNotCreatedForMissingParameters() {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile("processable(N, NN) :- N > NN.");
+        Assertions.assertNotNull(template);
+
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("NN", "12")));
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "5")));
+    }
+
+    @Test
+    public void goalIsNotCreatedForUnparsableParameters() {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile("processable(N) :- N > 2.");
+        Assertions.assertNotNull(template);
+
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "")));
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "'unterminated")));
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "[1, 2")));
+    }
+
+    @Test
+    public void goalIsNotCreatedForVariableParameters() {
+        SelectionRuleTemplate template = SelectionRuleTemplate.compile("processable(N) :- N > 2.");
+        Assertions.assertNotNull(template);
+
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "Value")));
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "_")));
+        Assertions.assertNull(template.createGoal(Collections.singletonMap("N", "f(X)")));
+    }
+}
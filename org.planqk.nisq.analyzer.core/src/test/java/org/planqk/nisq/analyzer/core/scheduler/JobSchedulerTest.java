@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.scheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.springframework.mock.env.MockEnvironment;
+
+public class JobSchedulerTest {
+
+    private JobScheduler jobScheduler;
+
+    @Before
+    public void setUp() {
+        jobScheduler = new JobScheduler(new MockEnvironment(), new SimpleMeterRegistry(), 5, 10);
+    }
+
+    @After
+    public void tearDown() {
+        jobScheduler.shutdown();
+    }
+
+    @Test
+    public void failureHandlerRunsIfJobFails() throws InterruptedException {
+        CountDownLatch failureHandled = new CountDownLatch(1);
+
+        jobScheduler.submit(JobType.ANALYSIS, () -> {
+            throw new IllegalStateException("selection failed");
+        }, failureHandled::countDown);
+
+        Assertions.assertTrue(failureHandled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failureHandlerDoesNotRunIfJobSucceeds() {
+        AtomicBoolean failureHandled = new AtomicBoolean(false);
+
+        jobScheduler.submit(JobType.ANALYSIS, () -> {
+        }, () -> failureHandled.set(true));
+
+        // waits until the job is finished
+        jobScheduler.shutdown();
+        Assertions.assertFalse(failureHandled.get());
+    }
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2021 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.core.translator;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+import org.planqk.nisq.analyzer.core.Constants;
+import org.planqk.nisq.analyzer.core.http.HttpClientService;
+import org.planqk.nisq.analyzer.core.model.CircuitPayload;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TranslatorServiceTest {
+
+    final private static CircuitPayload CIRCUIT = CircuitPayload.of("from qiskit import QuantumCircuit", Constants.QISKIT);
+
+    final private static String TRANSLATED_CIRCUIT = "OPENQASM 2.0;";
+
+    private RestTemplate restTemplate;
+
+    private TranslatorService translatorService;
+
+    @Before
+    public void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        HttpClientService httpClientService = mock(HttpClientService.class);
+        when(httpClientService.getRestTemplate(anyString())).thenReturn(restTemplate);
+        translatorService = new TranslatorService("localhost", 5012, 10, new SimpleMeterRegistry(), httpClientService);
+    }
+
+    @Test
+    public void concurrentTranslationsAreCoalesced() throws Exception {
+        CountDownLatch requestStarted = new CountDownLatch(1);
+        CountDownLatch releaseRequest = new CountDownLatch(1);
+        when(restTemplate.postForEntity(any(URI.class), any(), eq(String.class))).thenAnswer(invocation -> {
+            requestStarted.countDown();
+            releaseRequest.await(5, TimeUnit.SECONDS);
+            return new ResponseEntity<>(TRANSLATED_CIRCUIT, HttpStatus.OK);
+        });
+
+        CompletableFuture<CircuitPayload> first =
+                CompletableFuture.supplyAsync(() -> translatorService.translateCircuit(CIRCUIT, Constants.OPENQASM));
+        Assertions.assertTrue(requestStarted.await(5, TimeUnit.SECONDS));
+
+        // the second caller has to await the pending translation of the first caller
+        CompletableFuture<CircuitPayload> second = new CompletableFuture<>();
+        Thread waitingThread = new Thread(() -> second.complete(translatorService.translateCircuit(CIRCUIT, Constants.OPENQASM)));
+        waitingThread.start();
+        while (waitingThread.getState() != Thread.State.WAITING && !second.isDone()) {
+            Thread.sleep(10);
+        }
+        Assertions.assertFalse(second.isDone());
+        releaseRequest.countDown();
+
+        Assertions.assertEquals(TRANSLATED_CIRCUIT, first.get(5, TimeUnit.SECONDS).getContent());
+        Assertions.assertEquals(TRANSLATED_CIRCUIT, second.get(5, TimeUnit.SECONDS).getContent());
+        verify(restTemplate, times(1)).postForEntity(any(URI.class), any(), eq(String.class));
+    }
+
+    @Test
+    public void failedTranslationsAreNotCached() {
+        when(restTemplate.postForEntity(any(URI.class), any(), eq(String.class)))
+                .thenThrow(new ResourceAccessException("translator unavailable"))
+                .thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR))
+                .thenReturn(new ResponseEntity<>(TRANSLATED_CIRCUIT, HttpStatus.OK));
+
+        Assertions.assertNull(translatorService.translateCircuit(CIRCUIT, Constants.OPENQASM));
+        Assertions.assertNull(translatorService.translateCircuit(CIRCUIT, Constants.OPENQASM));
+        Assertions.assertEquals(TRANSLATED_CIRCUIT, translatorService.translateCircuit(CIRCUIT, Constants.OPENQASM).getContent());
+
+        // the successful translation is cached
+        Assertions.assertEquals(TRANSLATED_CIRCUIT, translatorService.translateCircuit(CIRCUIT, Constants.OPENQASM).getContent());
+        verify(restTemplate, times(3)).postForEntity(any(URI.class), any(), eq(String.class));
+    }
+}
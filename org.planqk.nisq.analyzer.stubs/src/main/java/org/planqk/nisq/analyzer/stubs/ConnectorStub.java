@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stub of the services of the SDK connectors (Qiskit, Forest, and PyTket Service). Implements the transpile and execute endpoints, as well as
+ * the result endpoint which is polled for the execution results.
+ */
+public class ConnectorStub extends StubHandler {
+
+    final private static String QASM_CIRCUIT = "OPENQASM 2.0;\ninclude \"qelib1.inc\";\nqreg q[2];\ncreg c[2];\nh q[0];\ncx q[0],q[1];\n"
+            + "measure q -> c;\n";
+
+    final private static String QUIL_CIRCUIT = "DECLARE ro BIT[2]\nH 0\nCNOT 0 1\nMEASURE 0 ro[0]\nMEASURE 1 ro[1]\n";
+
+    // name of the service used as first segment of the path, e.g., 'qiskit-service'
+    final private String serviceName;
+
+    // language of the transpiled circuits, 'quil' or 'openqasm'
+    final private String language;
+
+    // finish time of the started executions by their id
+    final private Map<String, Long> executions = new ConcurrentHashMap<>();
+
+    public ConnectorStub(StubConfiguration config, String serviceName, String language) {
+        super(config);
+        this.serviceName = serviceName;
+        this.language = language;
+    }
+
+    /**
+     * @return the path of the context to register the stub at
+     */
+    public String getContextPath() {
+        return "/" + serviceName + "/api/";
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String path) throws IOException {
+        if (method.equals("POST") && path.endsWith("/transpile")) {
+            transpile(exchange);
+        } else if (method.equals("POST") && path.endsWith("/execute")) {
+            execute(exchange, path);
+        } else if (method.equals("GET") && path.contains("/results/")) {
+            getResult(exchange, path.substring(path.lastIndexOf('/') + 1));
+        } else {
+            sendStatus(exchange, 404);
+        }
+    }
+
+    private void transpile(HttpExchange exchange) throws IOException {
+        Map<String, Object> request = readJson(exchange);
+        config.simulateLatency(config.getTranspileLatency());
+        if (config.shouldFail()) {
+            sendText(exchange, 500, "Simulated transpilation failure");
+            return;
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        if (config.shouldReject()) {
+            response.put("error", "Simulated rejection: QPU " + request.get("qpu-name") + " is not suitable for the circuit");
+            sendJson(exchange, 200, response);
+            return;
+        }
+
+        // the PyTket Service transpiles into the language of the provider
+        String transpiledLanguage = Objects.equals(request.get("provider"), "rigetti") ? "quil" : language;
+        boolean quil = transpiledLanguage.equals("quil");
+        response.put("width", config.getCircuitWidth());
+        response.put("depth", config.getCircuitDepth());
+        response.put("language", transpiledLanguage);
+        response.put(quil ? "transpiled-quil" : "transpiled-qasm", quil ? QUIL_CIRCUIT : QASM_CIRCUIT);
+        sendJson(exchange, 200, response);
+    }
+
+    private void execute(HttpExchange exchange, String path) throws IOException {
+        readJson(exchange);
+        config.simulateLatency(config.getExecuteLatency());
+        if (config.shouldFail()) {
+            sendText(exchange, 500, "Simulated execution failure");
+            return;
+        }
+
+        String id = UUID.randomUUID().toString();
+        executions.put(id, System.currentTimeMillis() + config.getExecutionDuration());
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (Objects.isNull(host)) {
+            host = "localhost:" + exchange.getLocalAddress().getPort();
+        }
+        String resultPath = path.substring(0, path.lastIndexOf('/')) + "/results/" + id;
+        exchange.getResponseHeaders().set("Location", "http://" + host + resultPath);
+        sendStatus(exchange, 202);
+    }
+
+    private void getResult(HttpExchange exchange, String id) throws IOException {
+        Long finishTime = executions.get(id);
+        if (Objects.isNull(finishTime)) {
+            sendStatus(exchange, 404);
+            return;
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("id", id);
+        boolean complete = System.currentTimeMillis() >= finishTime;
+        response.put("complete", complete);
+        if (complete) {
+            executions.remove(id);
+            Map<String, Object> counts = new HashMap<>();
+            counts.put("00", 512);
+            counts.put("11", 512);
+            Map<String, Object> result = new HashMap<>();
+            result.put("counts", counts);
+            response.put("result", result);
+        }
+        sendJson(exchange, 200, response);
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.Getter;
+
+/**
+ * Statistics of the jobs of one type performed by the {@link LoadTestDriver}
+ */
+public class JobStatistics {
+
+    @Getter
+    final private String jobType;
+
+    // latencies of the successful jobs in milliseconds, from the submission until the job is ready
+    final private List<Long> latencies = new ArrayList<>();
+
+    final private AtomicInteger failed = new AtomicInteger();
+
+    final private AtomicInteger rejected = new AtomicInteger();
+
+    public JobStatistics(String jobType) {
+        this.jobType = jobType;
+    }
+
+    public synchronized void recordSuccess(long latency) {
+        latencies.add(latency);
+    }
+
+    public void recordFailure() {
+        failed.incrementAndGet();
+    }
+
+    public void recordRejection() {
+        rejected.incrementAndGet();
+    }
+
+    public synchronized int getSucceeded() {
+        return latencies.size();
+    }
+
+    /**
+     * Get the latency below which the given percentage of the successful jobs finished
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the latency in milliseconds, or 0 if no job succeeded
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    /**
+     * Create a report line with the throughput and latencies of the jobs
+     *
+     * @param duration the duration of the load test in milliseconds
+     * @return the report line
+     */
+    public synchronized String report(long duration) {
+        double throughput = getSucceeded() / Math.max(1.0, duration / 1000.0);
+        double mean = latencies.stream().mapToLong(Long::longValue).average().orElse(0);
+        return String.format("%-14s succeeded: %6d  failed: %5d  rejected: %5d  throughput: %8.2f jobs/s  "
+                        + "mean: %7.0f ms  p50: %7d ms  p99: %7d ms  max: %7d ms",
+                jobType, getSucceeded(), failed.get(), rejected.get(), throughput, mean, getPercentile(50), getPercentile(99),
+                getPercentile(100));
+    }
+}
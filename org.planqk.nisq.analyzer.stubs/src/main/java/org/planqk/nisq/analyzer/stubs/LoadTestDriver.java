@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Load-test driver firing concurrent selection, compilation, and QPU selection jobs against a running NISQ Analyzer, which is usually
+ * configured to use the stub servers. Each worker submits a job, polls it until it is ready, and continues with the next job. At the end, the
+ * throughput and latencies per job type are reported. The driver is configured by system properties:
+ * <ul>
+ * <li>load.baseUrl: the URL of the NISQ Analyzer API (default: http://localhost:5010/nisq-analyzer)</li>
+ * <li>load.types: comma-separated job types to perform: selection, compilation, qpu-selection (default: compilation,qpu-selection)</li>
+ * <li>load.jobs: total number of jobs, distributed round-robin over the job types (default: 100)</li>
+ * <li>load.concurrency: number of concurrently running jobs (default: 10)</li>
+ * <li>load.algorithmId and load.parameters: algorithm and input parameters (e.g., N=15;L=4) for the selection jobs</li>
+ * <li>load.provider and load.qpu: QPU for the compilation jobs (default: ibmq, ibmq-stub-0)</li>
+ * <li>load.pollInterval: time in milliseconds between two polls of a job (default: 200)</li>
+ * <li>load.timeout: time in seconds after which a job is considered as failed (default: 300)</li>
+ * </ul>
+ */
+public class LoadTestDriver {
+
+    final private static Logger LOG = LoggerFactory.getLogger(LoadTestDriver.class);
+
+    final private static String CIRCUIT = "OPENQASM 2.0;\ninclude \"qelib1.inc\";\nqreg q[2];\ncreg c[2];\nh q[0];\ncx q[0],q[1];\n"
+            + "measure q -> c;\n";
+
+    final private RestTemplate restTemplate = new RestTemplate();
+
+    final private Properties properties;
+
+    final private String baseUrl;
+
+    final private long pollInterval;
+
+    final private long timeout;
+
+    public LoadTestDriver(Properties properties) {
+        this.properties = properties;
+        this.baseUrl = properties.getProperty("load.baseUrl", "http://localhost:5010/nisq-analyzer");
+        this.pollInterval = Long.parseLong(properties.getProperty("load.pollInterval", "200"));
+        this.timeout = TimeUnit.SECONDS.toMillis(Long.parseLong(properties.getProperty("load.timeout", "300")));
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestDriver driver = new LoadTestDriver(System.getProperties());
+        driver.run();
+    }
+
+    /**
+     * Perform the configured jobs and print the report
+     *
+     * @return the statistics by job type
+     */
+    public Map<String, JobStatistics> run() throws InterruptedException {
+        List<String> jobTypes = Arrays.asList(properties.getProperty("load.types", "compilation,qpu-selection").split("\\s*,\\s*"));
+        int jobs = Integer.parseInt(properties.getProperty("load.jobs", "100"));
+        int concurrency = Integer.parseInt(properties.getProperty("load.concurrency", "10"));
+
+        Map<String, JobStatistics> statistics = new LinkedHashMap<>();
+        jobTypes.forEach(jobType -> statistics.put(jobType, new JobStatistics(jobType)));
+        LOG.info("Performing {} jobs of types {} with concurrency {} against {}.", jobs, jobTypes, concurrency, baseUrl);
+
+        AtomicInteger nextJob = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                int job;
+                while ((job = nextJob.getAndIncrement()) < jobs) {
+                    String jobType = jobTypes.get(job % jobTypes.size());
+                    performJob(jobType, statistics.get(jobType));
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        long duration = System.currentTimeMillis() - start;
+
+        System.out.println(String.format("Load test finished after %.1f s:", duration / 1000.0));
+        statistics.values().forEach(jobStatistics -> System.out.println(jobStatistics.report(duration)));
+        return statistics;
+    }
+
+    private void performJob(String jobType, JobStatistics statistics) {
+        long start = System.currentTimeMillis();
+        try {
+            String jobLocation = submitJob(jobType);
+            if (waitForJob(jobLocation, start + timeout)) {
+                statistics.recordSuccess(System.currentTimeMillis() - start);
+            } else {
+                LOG.warn("Job {} did not finish within the timeout.", jobLocation);
+                statistics.recordFailure();
+            }
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                statistics.recordRejection();
+            } else {
+                LOG.warn("Submitting {} job failed with HTTP {}.", jobType, e.getRawStatusCode());
+                statistics.recordFailure();
+            }
+        } catch (RestClientException e) {
+            LOG.warn("Performing {} job failed: {}", jobType, e.getMessage());
+            statistics.recordFailure();
+        }
+    }
+
+    /**
+     * Submit a job of the given type
+     *
+     * @return the location to poll the job from
+     */
+    private String submitJob(String jobType) {
+        switch (jobType) {
+            case "selection":
+                Map<String, Object> selection = new HashMap<>();
+                selection.put("algorithmId", UUID.fromString(properties.getProperty("load.algorithmId")));
+                selection.put("parameters", parseParameters(properties.getProperty("load.parameters", "")));
+                return getJobLocation(restTemplate.postForObject(baseUrl + "/selection", selection, Map.class), "analysis-results");
+            case "compilation":
+                MultiValueMap<String, Object> compilation = createCircuitRequest();
+                compilation.add("providerName", properties.getProperty("load.provider", "ibmq"));
+                compilation.add("qpuName", properties.getProperty("load.qpu", "ibmq-stub-0"));
+                compilation.add("circuitName", "load-test");
+                compilation.add("token", "stub");
+                return getJobLocation(postMultipart("/compiler-selection", compilation), "compiler-results");
+            case "qpu-selection":
+                MultiValueMap<String, Object> qpuSelection = createCircuitRequest();
+                qpuSelection.add("simulatorsAllowed", "false");
+                qpuSelection.add("allowedProviders", properties.getProperty("load.provider", "ibmq"));
+                qpuSelection.add("circuitName", "load-test");
+                return getJobLocation(postMultipart("/qpu-selection", qpuSelection), "qpu-selection-results");
+            default:
+                throw new IllegalArgumentException("Unknown job type: " + jobType);
+        }
+    }
+
+    private MultiValueMap<String, Object> createCircuitRequest() {
+        MultiValueMap<String, Object> request = new LinkedMultiValueMap<>();
+        request.add("circuitLanguage", "openqasm");
+        request.add("circuit", new ByteArrayResource(CIRCUIT.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "circuit.qasm";
+            }
+        });
+        return request;
+    }
+
+    private Map<?, ?> postMultipart(String path, MultiValueMap<String, Object> request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return restTemplate.postForObject(baseUrl + path, new HttpEntity<>(request, headers), Map.class);
+    }
+
+    private String getJobLocation(Map<?, ?> job, String resultPath) {
+        if (Objects.isNull(job) || Objects.isNull(job.get("id"))) {
+            throw new RestClientException("Response does not contain a job id");
+        }
+        return baseUrl + "/" + resultPath + "/jobs/" + job.get("id");
+    }
+
+    /**
+     * Poll the job at the given location until it is ready or the deadline is reached
+     *
+     * @return <code>true</code> if the job is ready and did not fail, <code>false</code> otherwise
+     */
+    private boolean waitForJob(String jobLocation, long deadline) {
+        while (System.currentTimeMillis() < deadline) {
+            Map<String, Object> job = restTemplate.exchange(jobLocation, HttpMethod.GET, null,
+                    new ParameterizedTypeReference<Map<String, Object>>() {
+                    }).getBody();
+            if (Objects.nonNull(job) && Boolean.TRUE.equals(job.get("ready"))) {
+                return !Boolean.TRUE.equals(job.get("failed"));
+            }
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> parseParameters(String parameters) {
+        Map<String, String> parsed = new HashMap<>();
+        for (String parameter : parameters.split(";")) {
+            String[] keyValue = parameter.split("=", 2);
+            if (keyValue.length == 2) {
+                parsed.put(keyValue[0].trim(), keyValue[1].trim());
+            }
+        }
+        return parsed;
+    }
+}
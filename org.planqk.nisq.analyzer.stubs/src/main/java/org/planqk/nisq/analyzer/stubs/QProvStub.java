@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stub of QProv providing the configured providers and a configurable number of QPUs per provider. The ids of the providers and QPUs are
+ * derived from their names, so they are stable across restarts of the stub.
+ */
+public class QProvStub extends StubHandler {
+
+    final public static String CONTEXT_PATH = "/qprov/";
+
+    public QProvStub(StubConfiguration config) {
+        super(config);
+    }
+
+    /**
+     * Get the name of a QPU provided by the stub
+     *
+     * @param provider the name of the provider of the QPU
+     * @param index    the index of the QPU, between 0 and the configured number of QPUs per provider
+     * @return the name of the QPU
+     */
+    public static String getQpuName(String provider, int index) {
+        return provider + "-stub-" + index;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String path) throws IOException {
+        String[] segments = path.substring(CONTEXT_PATH.length()).split("/");
+        if (!method.equals("GET") || segments.length == 0 || !segments[0].equals("providers")) {
+            sendStatus(exchange, 404);
+            return;
+        }
+
+        config.simulateLatency(config.getQprovLatency());
+        if (config.shouldFail()) {
+            sendText(exchange, 500, "Simulated QProv failure");
+            return;
+        }
+
+        if (segments.length == 1) {
+            sendJson(exchange, 200, embedded("providerDtoes", getProviders()));
+        } else if (segments.length == 3 && segments[2].equals("qpus")) {
+            String provider = config.getProviders().stream().filter(name -> getId("provider", name).toString().equals(segments[1]))
+                    .findFirst().orElse(null);
+            if (Objects.isNull(provider)) {
+                sendStatus(exchange, 404);
+                return;
+            }
+            sendJson(exchange, 200, embedded("qpuDtoes", getQpus(provider)));
+        } else {
+            sendStatus(exchange, 404);
+        }
+    }
+
+    private List<Map<String, Object>> getProviders() {
+        List<Map<String, Object>> providers = new ArrayList<>();
+        for (String name : config.getProviders()) {
+            Map<String, Object> provider = new HashMap<>();
+            provider.put("id", getId("provider", name));
+            provider.put("name", name);
+            provider.put("offeringURL", "https://" + name + ".example.org");
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    private List<Map<String, Object>> getQpus(String provider) {
+        List<Map<String, Object>> qpus = new ArrayList<>();
+        for (int i = 0; i < config.getQpusPerProvider(); i++) {
+            String name = getQpuName(provider, i);
+            Map<String, Object> qpu = new HashMap<>();
+            qpu.put("id", getId("qpu", name));
+            qpu.put("name", name);
+            // QPUs with 5 to 35 qubits, every tenth QPU is a simulator
+            qpu.put("numberOfQubits", 5 + (i % 7) * 5);
+            qpu.put("avgT1Time", 100.0f);
+            qpu.put("maxGateTime", 500.0f);
+            qpu.put("simulator", i % 10 == 9);
+            qpu.put("queueSize", i);
+            qpus.add(qpu);
+        }
+        return qpus;
+    }
+
+    private static Map<String, Object> embedded(String key, List<Map<String, Object>> entities) {
+        return Collections.singletonMap("_embedded", Collections.singletonMap(key, entities));
+    }
+
+    private static UUID getId(String type, String name) {
+        return UUID.nameUUIDFromBytes((type + ":" + name).getBytes(StandardCharsets.UTF_8));
+    }
+}
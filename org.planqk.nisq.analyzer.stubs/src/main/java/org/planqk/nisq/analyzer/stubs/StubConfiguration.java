@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of the behaviour of the stub servers. All latencies are given in milliseconds, all rates as probability between 0 and 1.
+ */
+@Getter
+@Setter
+public class StubConfiguration {
+
+    final private static String PREFIX = "stub.";
+
+    // latency of the transpile requests of the SDK connectors
+    private long transpileLatency = 200;
+
+    // latency of the execute requests of the SDK connectors
+    private long executeLatency = 100;
+
+    // time after which the result of an execution is available
+    private long executionDuration = 2000;
+
+    // latency of the requests to QProv
+    private long qprovLatency = 50;
+
+    // latency of the requests to the translator
+    private long translatorLatency = 100;
+
+    // random variation added to all latencies, as fraction of the latency
+    private double jitter = 0.2;
+
+    // rate of requests answered with HTTP 500
+    private double errorRate = 0.0;
+
+    // rate of transpile requests answered with an error message, e.g., as the QPU provides too few qubits
+    private double rejectionRate = 0.0;
+
+    // providers returned by QProv, the names have to match the providers supported by the SDK connectors
+    private List<String> providers = Arrays.asList("ibmq", "rigetti");
+
+    // number of QPUs returned by QProv for each provider
+    private int qpusPerProvider = 10;
+
+    // width and depth of the transpiled circuits
+    private int circuitWidth = 5;
+
+    private int circuitDepth = 20;
+
+    /**
+     * Create a configuration from the given properties, e.g., the system properties. All keys use the prefix 'stub.', e.g.,
+     * 'stub.transpileLatency=500' or 'stub.providers=ibmq,rigetti'. Missing properties keep their default value.
+     *
+     * @param properties the properties to read the configuration from
+     * @return the configuration
+     */
+    public static StubConfiguration fromProperties(Properties properties) {
+        StubConfiguration config = new StubConfiguration();
+        config.transpileLatency = getLong(properties, "transpileLatency", config.transpileLatency);
+        config.executeLatency = getLong(properties, "executeLatency", config.executeLatency);
+        config.executionDuration = getLong(properties, "executionDuration", config.executionDuration);
+        config.qprovLatency = getLong(properties, "qprovLatency", config.qprovLatency);
+        config.translatorLatency = getLong(properties, "translatorLatency", config.translatorLatency);
+        config.jitter = getDouble(properties, "jitter", config.jitter);
+        config.errorRate = getDouble(properties, "errorRate", config.errorRate);
+        config.rejectionRate = getDouble(properties, "rejectionRate", config.rejectionRate);
+        config.qpusPerProvider = (int) getLong(properties, "qpusPerProvider", config.qpusPerProvider);
+        config.circuitWidth = (int) getLong(properties, "circuitWidth", config.circuitWidth);
+        config.circuitDepth = (int) getLong(properties, "circuitDepth", config.circuitDepth);
+        String providers = properties.getProperty(PREFIX + "providers");
+        if (Objects.nonNull(providers) && !providers.trim().isEmpty()) {
+            config.providers = Arrays.asList(providers.trim().split("\\s*,\\s*"));
+        }
+        return config;
+    }
+
+    /**
+     * Wait for the given latency with the configured jitter
+     *
+     * @param latency the latency in milliseconds
+     */
+    public void simulateLatency(long latency) {
+        if (latency <= 0) {
+            return;
+        }
+        long variation = (long) (latency * jitter * ThreadLocalRandom.current().nextDouble(-1, 1));
+        try {
+            Thread.sleep(Math.max(0, latency + variation));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the current request should fail with an internal server error
+     */
+    public boolean shouldFail() {
+        return ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    /**
+     * @return <code>true</code> if the current transpile request should be rejected
+     */
+    public boolean shouldReject() {
+        return ThreadLocalRandom.current().nextDouble() < rejectionRate;
+    }
+
+    private static long getLong(Properties properties, String key, long defaultValue) {
+        String value = properties.getProperty(PREFIX + key);
+        return Objects.nonNull(value) ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    private static double getDouble(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(PREFIX + key);
+        return Objects.nonNull(value) ? Double.parseDouble(value.trim()) : defaultValue;
+    }
+}
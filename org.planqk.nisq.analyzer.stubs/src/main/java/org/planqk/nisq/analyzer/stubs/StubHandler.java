@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class of the handlers emulating the services used by the NISQ Analyzer
+ */
+public abstract class StubHandler implements HttpHandler {
+
+    final private static Logger LOG = LoggerFactory.getLogger(StubHandler.class);
+
+    final protected static ObjectMapper MAPPER = new ObjectMapper();
+
+    final protected StubConfiguration config;
+
+    final private LongAdder requestCount = new LongAdder();
+
+    protected StubHandler(StubConfiguration config) {
+        this.config = config;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        requestCount.increment();
+        try {
+            // remove duplicated slashes as some clients concatenate the base path and the resource path with two slashes
+            String path = exchange.getRequestURI().getPath().replaceAll("/+", "/");
+            handle(exchange, exchange.getRequestMethod().toUpperCase(), path);
+        } catch (RuntimeException e) {
+            LOG.error("Stub failed to handle request {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(), e.getMessage());
+            sendText(exchange, 500, "Internal stub error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * @return the number of requests handled by this stub
+     */
+    public long getRequestCount() {
+        return requestCount.sum();
+    }
+
+    /**
+     * Handle the given request
+     *
+     * @param exchange the request and response
+     * @param method   the HTTP method in upper case
+     * @param path     the normalized path of the request
+     */
+    protected abstract void handle(HttpExchange exchange, String method, String path) throws IOException;
+
+    protected Map<String, Object> readJson(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            Map<String, Object> json = MAPPER.readValue(body, new TypeReference<Map<String, Object>>() {
+            });
+            return Objects.nonNull(json) ? json : Collections.emptyMap();
+        }
+    }
+
+    protected void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        send(exchange, status, MAPPER.writeValueAsBytes(body));
+    }
+
+    protected void sendText(HttpExchange exchange, int status, String body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        send(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    protected void sendStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] content) throws IOException {
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(content);
+        }
+    }
+}
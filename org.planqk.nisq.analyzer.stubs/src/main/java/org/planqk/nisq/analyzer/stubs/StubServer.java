@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embeddable HTTP server emulating all services used by the NISQ Analyzer: the Qiskit, Forest, and PyTket Service, QProv, and the translator.
+ * All services are available on the same port, so the hostnames and ports of all services can be configured to point to one server, e.g., in
+ * tests:
+ * <pre>
+ * StubServer server = new StubServer(new StubConfiguration(), 0);
+ * server.start();
+ * // configure org.planqk.nisq.analyzer.connector.qiskit.port=server.getPort(), ...
+ * server.stop();
+ * </pre>
+ */
+public class StubServer {
+
+    final private static Logger LOG = LoggerFactory.getLogger(StubServer.class);
+
+    @Getter
+    final private StubConfiguration config;
+
+    // the stubs by the name of the emulated service
+    final private Map<String, StubHandler> stubs = new LinkedHashMap<>();
+
+    final private HttpServer server;
+
+    final private ExecutorService executor;
+
+    /**
+     * Create a new stub server
+     *
+     * @param config the configuration of the stubs
+     * @param port   the port to listen on, or 0 to choose a free port
+     * @throws IOException if the server can not be bound to the port
+     */
+    public StubServer(StubConfiguration config, int port) throws IOException {
+        this.config = config;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+
+        // the stubs simulate the latency by blocking the request thread, thus, a thread per concurrent request is required
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server-" + getPort() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(executor);
+
+        register("qiskit", new ConnectorStub(config, "qiskit-service", "openqasm"));
+        register("forest", new ConnectorStub(config, "forest-service", "quil"));
+        register("pytket", new ConnectorStub(config, "pytket-service", "openqasm"));
+        stubs.put("qprov", new QProvStub(config));
+        server.createContext(QProvStub.CONTEXT_PATH, stubs.get("qprov"));
+        stubs.put("translator", new TranslatorStub(config));
+        server.createContext(TranslatorStub.CONTEXT_PATH, stubs.get("translator"));
+    }
+
+    public void start() {
+        server.start();
+        LOG.info("Stub server listening on port {}.", getPort());
+    }
+
+    /**
+     * Stop the server immediately, running requests are aborted
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Get the number of requests handled by the stub of the given service
+     *
+     * @param service the name of the service, i.e., 'qiskit', 'forest', 'pytket', 'qprov', or 'translator'
+     * @return the number of handled requests
+     */
+    public long getRequestCount(String service) {
+        StubHandler stub = stubs.get(service);
+        return Objects.nonNull(stub) ? stub.getRequestCount() : 0;
+    }
+
+    private void register(String service, ConnectorStub stub) {
+        stubs.put(service, stub);
+        server.createContext(stub.getContextPath(), stub);
+    }
+}
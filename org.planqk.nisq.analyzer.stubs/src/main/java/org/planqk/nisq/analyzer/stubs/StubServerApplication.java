@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts stub servers on the default ports of the services used by the NISQ Analyzer, so that the NISQ Analyzer can be started with its
+ * default configuration against the stubs. The ports can be changed by the 'stub.ports' system property, the behaviour of the stubs is
+ * configured by the system properties described in {@link StubConfiguration}, e.g.:
+ * <pre>
+ * java -Dstub.transpileLatency=500 -Dstub.errorRate=0.01 -Dstub.qpusPerProvider=50 -jar stubs.jar
+ * </pre>
+ */
+public class StubServerApplication {
+
+    final private static Logger LOG = LoggerFactory.getLogger(StubServerApplication.class);
+
+    // default ports of the translator, Qiskit Service, Forest Service, PyTket Service, and QProv
+    final private static String DEFAULT_PORTS = "5012,5013,5014,5015,5020";
+
+    public static void main(String[] args) throws IOException {
+        StubConfiguration config = StubConfiguration.fromProperties(System.getProperties());
+
+        List<StubServer> servers = new ArrayList<>();
+        for (String port : System.getProperty("stub.ports", DEFAULT_PORTS).split(",")) {
+            StubServer server = new StubServer(config, Integer.parseInt(port.trim()));
+            server.start();
+            servers.add(server);
+        }
+        LOG.info("Started {} stub servers with {} QPUs per provider, transpile latency {} ms, and error rate {}.", servers.size(),
+                config.getQpusPerProvider(), config.getTranspileLatency(), config.getErrorRate());
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> servers.forEach(StubServer::stop)));
+    }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2020 University of Stuttgart
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+
+package org.planqk.nisq.analyzer.stubs;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Stub of the translator service. The stub does not translate the circuits, but returns the passed circuit as result of the translation.
+ */
+public class TranslatorStub extends StubHandler {
+
+    final public static String CONTEXT_PATH = "/convert";
+
+    public TranslatorStub(StubConfiguration config) {
+        super(config);
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange, String method, String path) throws IOException {
+        if (!method.equals("POST")) {
+            sendStatus(exchange, 405);
+            return;
+        }
+
+        Map<String, Object> request = readJson(exchange);
+        config.simulateLatency(config.getTranslatorLatency());
+        if (config.shouldFail()) {
+            sendText(exchange, 500, "Simulated translation failure");
+            return;
+        }
+        sendText(exchange, 200, Objects.toString(request.get("circuit"), ""));
+    }
+}